@@ -0,0 +1,37 @@
+package org.example.userservice.benchmark;
+
+import org.example.userservice.dao.UserDAO;
+import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkDatabase {
+
+    static final int POOL_SIZE = 64;
+
+    private BenchmarkDatabase() {
+    }
+
+    static SessionFactory buildSessionFactory() {
+        Configuration configuration = new Configuration().configure("hibernate-test.cfg.xml");
+        configuration.setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        configuration.setProperty("hibernate.hikari.maximumPoolSize", String.valueOf(POOL_SIZE));
+        configuration.setProperty("hibernate.hikari.minimumIdle", String.valueOf(POOL_SIZE));
+        configuration.setProperty("hibernate.show_sql", "false");
+        configuration.setProperty("hibernate.format_sql", "false");
+        return configuration.buildSessionFactory();
+    }
+
+    static List<User> seed(SessionFactory sessionFactory, int count) {
+        UserDAO userDAO = new UserDAOImpl(sessionFactory);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new User("Seed User " + i, "seed" + i + "@example.com", 20 + i % 50));
+        }
+        return userDAO.saveAll(users);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.userservice.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_THREADS = "1,8,64";
+
+    private BenchmarkRunner() {
+    }
+
+    // Runs every selected benchmark once per thread count (-Dbenchmark.threads=1,8,64) with the GC profiler,
+    // so each report carries ops/us, latency percentiles and gc.alloc.rate.norm (bytes per op).
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        String[] threadCounts = commandLine.getThreads().hasValue()
+                ? new String[]{String.valueOf(commandLine.getThreads().get())}
+                : System.getProperty("benchmark.threads", DEFAULT_THREADS).split(",");
+
+        for (String threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .addProfiler(GCProfiler.class)
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.userservice.benchmark;
+
+import org.example.userservice.dao.InMemoryUserDAO;
+import org.example.userservice.entity.User;
+import org.example.userservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Reference engine without PostgreSQL: raw DAO lookups and the same calls through UserService.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InMemoryUserDAOBenchmark {
+
+    private static final int STRIPES = 64;
+
+    @Param("1000000")
+    private int seedUsers;
+
+    private InMemoryUserDAO userDAO;
+    private UserService userService;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userDAO = new InMemoryUserDAO(STRIPES, seedUsers);
+        List<User> users = new ArrayList<>(seedUsers);
+        emails = new String[seedUsers];
+        for (int i = 0; i < seedUsers; i++) {
+            emails[i] = "seed" + i + "@example.com";
+            users.add(new User("Seed User " + i, emails[i], 20 + i % 50));
+        }
+        userDAO.saveAll(users);
+        userService = new UserService(userDAO);
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userDAO.findById(ThreadLocalRandom.current().nextLong(1, seedUsers + 1));
+    }
+
+    @Benchmark
+    public boolean existsByEmail() {
+        return userDAO.existsByEmail(emails[ThreadLocalRandom.current().nextInt(seedUsers)]);
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(ThreadLocalRandom.current().nextLong(1, seedUsers + 1));
+    }
+
+    @Benchmark
+    public Object getUserSummariesPage() {
+        return userService.getUserSummaries(ThreadLocalRandom.current().nextLong(seedUsers), 100);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.userservice.benchmark;
+
+import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.entity.User;
+import org.example.userservice.service.UserService;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// getUserById under the real logging configurations rather than log4j2-test.xml: Sync is the default
+// log4j2.xml (console muted so JMH output stays readable, file appender still synchronous), Async is the
+// production profile. Both run the application at INFO with SQL logging off, so the rows differ only in
+// how events reach the file. Compare them: -Djmh.args="LoggingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public abstract class LoggingBenchmark {
+
+    @Param("10000")
+    private int seedUsers;
+
+    private SessionFactory sessionFactory;
+    private UserService userService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = BenchmarkDatabase.buildSessionFactory();
+        List<User> seeded = BenchmarkDatabase.seed(sessionFactory, seedUsers);
+
+        ids = new long[seeded.size()];
+        for (int i = 0; i < seeded.size(); i++) {
+            ids[i] = seeded.get(i).getId();
+        }
+        userService = new UserService(new UserDAOImpl(sessionFactory));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2.xml",
+            "-Duserservice.log.level=INFO",
+            "-Duserservice.log.sql=WARN",
+            "-Duserservice.log.console=OFF",
+            "-Duserservice.log.dir=target/benchmark-logs/sync"})
+    public static class Sync extends LoggingBenchmark {
+    }
+
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j2.configurationFile=log4j2-production.xml",
+            "-Duserservice.log.level=INFO",
+            "-Duserservice.log.dir=target/benchmark-logs/async"})
+    public static class Async extends LoggingBenchmark {
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.userservice.benchmark;
+
+import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.entity.User;
+import org.example.userservice.service.UserService;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @Param("10000")
+    private int seedUsers;
+
+    @Param("100")
+    private int pageSize;
+
+    private SessionFactory sessionFactory;
+    private UserService userService;
+    private long[] ids;
+    private String[] emails;
+    private final AtomicLong createdUsers = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = BenchmarkDatabase.buildSessionFactory();
+        List<User> seeded = BenchmarkDatabase.seed(sessionFactory, seedUsers);
+
+        ids = new long[seeded.size()];
+        emails = new String[seeded.size()];
+        for (int i = 0; i < seeded.size(); i++) {
+            ids[i] = seeded.get(i).getId();
+            emails[i] = seeded.get(i).getEmail();
+        }
+        userService = new UserService(new UserDAOImpl(sessionFactory));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public User createUser() {
+        long n = createdUsers.incrementAndGet();
+        return userService.createUser("Bench User", "bench" + n + "@example.com", 30);
+    }
+
+    @Benchmark
+    public User getUserById() {
+        return userService.getUserById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public User getUserByEmail() {
+        return userService.getUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    @Benchmark
+    public List<User> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    @Benchmark
+    public Object getAllUsersPage() {
+        int index = ThreadLocalRandom.current().nextInt(ids.length);
+        return userService.getAllUsers(ids[index], pageSize);
+    }
+
+    @Benchmark
+    public Object getUserSummariesPage() {
+        int index = ThreadLocalRandom.current().nextInt(ids.length);
+        return userService.getUserSummaries(ids[index], pageSize);
+    }
+
+    @Benchmark
+    public User updateUser() {
+        int index = ThreadLocalRandom.current().nextInt(ids.length);
+        return userService.updateUser(ids[index], "Updated User " + index, emails[index], 40);
+    }
+}
@@ -1,13 +1,73 @@
 package org.example.userservice;
 
 
+import org.example.userservice.batch.BatchRunner;
+import org.example.userservice.batch.BatchSummary;
+import org.example.userservice.batch.UserExporter;
+import org.example.userservice.batch.UserImporter;
+import org.example.userservice.http.UserHttpServer;
+import org.example.userservice.metrics.MetricsJmx;
+import org.example.userservice.metrics.MetricsLogReporter;
+import org.example.userservice.metrics.MetricsRegistry;
 import org.example.userservice.service.UserService;
 import org.example.userservice.util.HibernateUtil;
+import org.example.userservice.validation.UserValidator;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
 import java.util.Scanner;
 
 public class Main {
+    private static final int DEFAULT_HTTP_PORT = 8080;
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar user-service.jar [mode]",
+            "  (no mode)                               interactive console",
+            "  --http [port]                           serve the REST API (default port " + DEFAULT_HTTP_PORT + ")",
+            "  --batch <file|-> [parallelism] [chunkSize]",
+            "                                          run create/get/update/delete operations; with the",
+            "                                          default parallelism of 1 they run in file order, with",
+            "                                          more, chunks run concurrently and may be reordered",
+            "  --import <file|->                       bulk-load users from CSV",
+            "  --export <file|-> [csv|ndjson]          dump all users");
+    // Seconds between latency reports in the log; 0 disables the reporter (JMX stays available).
+    private static final long METRICS_PERIOD_SECONDS = Long.getLong("userservice.metrics.period", 60);
+
+    private static MetricsLogReporter metricsReporter;
+
     public static void main(String[] args) {
+        Integer httpPort = null;
+        if (args.length > 0 && "--http".equals(args[0])) {
+            httpPort = args.length > 1 ? parsePort(args[1]) : Integer.valueOf(DEFAULT_HTTP_PORT);
+            if (httpPort == null) {
+                System.err.println("Invalid port: " + args[1]);
+                System.err.println(USAGE);
+                return;
+            }
+        }
+        startMetrics();
+
+        if (httpPort != null) {
+            runHttpServer(httpPort);
+            return;
+        }
+        if (args.length > 1 && "--batch".equals(args[0])) {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 1 && "--import".equals(args[0])) {
+            runImport(args[1]);
+            return;
+        }
+        if (args.length > 1 && "--export".equals(args[0])) {
+            runExport(args[1], args.length > 2 ? args[2] : "csv");
+            return;
+        }
+
         UserService userService = new UserService();
         Scanner scanner = new Scanner(System.in);
 
@@ -22,8 +82,95 @@ public class Main {
         }
     }
 
+    // null unless the argument is a port number from 0 (any free port) to 65535
+    private static Integer parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            return port >= 0 && port <= 65535 ? port : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void runHttpServer(int port) {
+        try {
+            UserHttpServer server = new UserHttpServer(new UserService(), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                shutdown(null);
+            }));
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Could not start HTTP server: " + e.getMessage());
+            shutdown(null);
+        }
+    }
+
+    // --batch <file|-> [parallelism] [chunkSize]; "-" reads operations from stdin.
+    // Parallelism defaults to 1 so that operations on the same user apply in file order.
+    private static void runBatch(String[] args) {
+        try {
+            int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : BatchRunner.DEFAULT_PARALLELISM;
+            int chunkSize = args.length > 3 ? Integer.parseInt(args[3]) : BatchRunner.DEFAULT_CHUNK_SIZE;
+
+            try (BufferedReader reader = open(args[1]);
+                 BatchRunner runner = new BatchRunner(new UserService(), parallelism, chunkSize, System.out)) {
+                BatchSummary summary = runner.run(reader);
+                summary.print(System.out);
+            }
+        } catch (Exception e) {
+            System.err.println("Batch error: " + e.getMessage());
+        } finally {
+            shutdown(null);
+        }
+    }
+
+    // --import <file|->; "-" reads rows from stdin.
+    private static void runImport(String source) {
+        try (BufferedReader reader = open(source)) {
+            new UserImporter(UserValidator.defaults(), System.out).importFrom(reader).print(System.out);
+        } catch (Exception e) {
+            System.err.println("Import error: " + e.getMessage());
+        } finally {
+            shutdown(null);
+        }
+    }
+
+    // --export <file|-> [csv|ndjson]; "-" writes to stdout.
+    private static void runExport(String target, String format) {
+        try {
+            UserExporter.Format exportFormat = UserExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            UserExporter exporter = new UserExporter();
+            long rows = "-".equals(target)
+                    ? exporter.exportTo(System.out, exportFormat)
+                    : exporter.exportTo(Paths.get(target), exportFormat);
+            System.err.println("Exported " + rows + " users");
+        } catch (Exception e) {
+            System.err.println("Export error: " + e.getMessage());
+        } finally {
+            shutdown(null);
+        }
+    }
+
+    private static BufferedReader open(String source) throws IOException {
+        return "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+    }
+
+    private static void startMetrics() {
+        MetricsJmx.register(MetricsRegistry.global());
+        if (METRICS_PERIOD_SECONDS > 0 && metricsReporter == null) {
+            metricsReporter = new MetricsLogReporter(MetricsRegistry.global()).start(METRICS_PERIOD_SECONDS);
+        }
+    }
+
     private static void shutdown(Scanner scanner) {
         try {
+            if (metricsReporter != null) {
+                metricsReporter.close();
+                metricsReporter = null;
+            }
             HibernateUtil.shutdown();
         } catch (Exception e) {
             System.err.println("Error during shutdown: " + e.getMessage());
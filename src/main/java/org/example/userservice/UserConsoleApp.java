@@ -8,7 +8,6 @@ import org.example.userservice.service.UserService;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
-import java.util.List;
 import java.util.Scanner;
 
 public class UserConsoleApp {
@@ -131,15 +130,13 @@ public class UserConsoleApp {
     void getAllUsers() {
         System.out.println("\n--- All Users ---");
 
-        List<User> users = userService.getAllUsers();
+        long[] index = {0};
+        long total = userService.forEachUserSummary(user -> System.out.println((++index[0]) + ". " + user));
 
-        if (users.isEmpty()) {
+        if (total == 0) {
             System.out.println("No users found.");
         } else {
-            System.out.println("Total users: " + users.size());
-            for (int i = 0; i < users.size(); i++) {
-                System.out.println((i + 1) + ". " + users.get(i));
-            }
+            System.out.println("Total users: " + total);
         }
     }
 
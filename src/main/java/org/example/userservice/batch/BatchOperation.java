@@ -0,0 +1,77 @@
+package org.example.userservice.batch;
+
+public class BatchOperation {
+
+    public enum Type {
+        CREATE("create"),
+        GET("get"),
+        UPDATE("update"),
+        DELETE("delete"),
+        FIND_BY_EMAIL("find-by-email");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        static Type fromLabel(String label) {
+            for (Type type : values()) {
+                if (type.label.equalsIgnoreCase(label)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final int line;
+    private final Type type;
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Integer age;
+
+    public BatchOperation(int line, Type type, Long id, String name, String email, Integer age) {
+        this.line = line;
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.age = age;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchOperation{line=%d, type=%s, id=%d, name='%s', email='%s', age=%d}",
+                line, type.getLabel(), id, name, email, age);
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.http.JsonReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Accepts one operation per line, either as CSV (operation,id,name,email,age) or as an NDJSON object
+// ({"op": "update", "id": 7, "name": "...", "email": "...", "age": 30}); formats may be mixed.
+public final class BatchOperationParser {
+
+    static final String CSV_HEADER = "operation";
+
+    private BatchOperationParser() {
+    }
+
+    // Returns null for lines that carry no operation: blanks, '#' comments and the CSV header row.
+    public static BatchOperation parse(int line, String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        if (trimmed.startsWith("{")) {
+            return fromJson(line, JsonReader.readObject(trimmed));
+        }
+        return fromCsv(line, splitCsv(trimmed));
+    }
+
+    private static BatchOperation fromJson(int line, Map<String, Object> values) {
+        BatchOperation.Type type = type(jsonString(values, "op"));
+        return create(line, type, jsonLong(values, "id"), jsonString(values, "name"), jsonString(values, "email"),
+                jsonInteger(values, "age"));
+    }
+
+    private static BatchOperation fromCsv(int line, List<String> fields) {
+        if (CSV_HEADER.equalsIgnoreCase(fields.get(0))) {
+            return null;
+        }
+        if (fields.size() > 5) {
+            throw new ValidationException("Expected at most 5 CSV fields but got " + fields.size());
+        }
+        BatchOperation.Type type = type(fields.get(0));
+        String id = field(fields, 1);
+        String age = field(fields, 4);
+        try {
+            return create(line, type, id == null ? null : Long.parseLong(id), field(fields, 2), field(fields, 3),
+                    age == null ? null : Integer.parseInt(age));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Fields 'id' and 'age' must be integers");
+        }
+    }
+
+    private static BatchOperation create(int line, BatchOperation.Type type, Long id, String name, String email,
+                                         Integer age) {
+        if (id == null && (type == BatchOperation.Type.GET || type == BatchOperation.Type.UPDATE
+                || type == BatchOperation.Type.DELETE)) {
+            throw new ValidationException("Operation '" + type.getLabel() + "' requires an id");
+        }
+        return new BatchOperation(line, type, id, name, email, age);
+    }
+
+    private static BatchOperation.Type type(String label) {
+        BatchOperation.Type type = label == null ? null : BatchOperation.Type.fromLabel(label.trim());
+        if (type == null) {
+            throw new ValidationException("Unknown operation: " + label);
+        }
+        return type;
+    }
+
+    static String jsonString(Map<String, Object> values, String name) {
+        Object value = values.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new ValidationException("Field '" + name + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    static Long jsonLong(Map<String, Object> values, String name) {
+        Object value = values.get(name);
+        if (value != null && !(value instanceof Long)) {
+            throw new ValidationException("Field '" + name + "' must be an integer");
+        }
+        return (Long) value;
+    }
+
+    static Integer jsonInteger(Map<String, Object> values, String name) {
+        Long value = jsonLong(values, name);
+        if (value != null && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+            throw new ValidationException("Field '" + name + "' must be an integer");
+        }
+        return value == null ? null : value.intValue();
+    }
+
+    // Empty CSV fields mean "absent", matching how the console treats a skipped age prompt.
+    static String field(List<String> fields, int index) {
+        if (index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // RFC 4180 quoting: a quoted field may contain commas, and "" inside quotes is a literal quote.
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("Unterminated quoted CSV field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
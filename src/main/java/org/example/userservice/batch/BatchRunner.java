@@ -0,0 +1,310 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.dao.UserUpdate;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.service.UserService;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class BatchRunner implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(BatchRunner.class);
+    // Matches UserDAOImpl's JDBC batch size, so a run of creates in one chunk is saved in one transaction.
+    public static final int DEFAULT_CHUNK_SIZE = 50;
+    // One chunk at a time keeps every operation in file order; see run().
+    public static final int DEFAULT_PARALLELISM = 1;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final UserService userService;
+    private final int parallelism;
+    private final int chunkSize;
+    private final PrintStream out;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    // Chunks record latencies into it without locking; the summary takes one histogram of the whole run.
+    private final Recorder latencies = new Recorder(SIGNIFICANT_DIGITS);
+    private final Object statsLock = new Object();
+    private long operations;
+    private long failures;
+
+    public BatchRunner(UserService userService, int parallelism, int chunkSize, PrintStream out) {
+        this(userService, parallelism, chunkSize, out, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public BatchRunner(UserService userService, int parallelism, int chunkSize, PrintStream out,
+                       ExecutorService executor) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.userService = userService;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.out = out;
+        this.executor = executor;
+        this.permits = new Semaphore(parallelism);
+    }
+
+    // With parallelism 1 operations run in file order. With more, chunks run concurrently and operations in
+    // different chunks are unordered, so a create and a later update of the same user may race.
+    // Within a chunk, consecutive creates, updates and deletes each go to the service as one bulk call.
+    public BatchSummary run(BufferedReader reader) throws IOException {
+        logger.info("Running batch with parallelism {} and chunk size {}", parallelism, chunkSize);
+        resetStatistics();
+        long start = System.nanoTime();
+
+        List<BatchOperation> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                BatchOperation operation;
+                try {
+                    operation = BatchOperationParser.parse(lineNumber, line);
+                } catch (ValidationException e) {
+                    out.println("Line " + lineNumber + ": " + e.getMessage());
+                    record(1, 1);
+                    continue;
+                }
+                if (operation == null) {
+                    continue;
+                }
+                chunk.add(operation);
+                if (chunk.size() == chunkSize) {
+                    submit(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk);
+            }
+        } finally {
+            // Holding every permit means every submitted chunk has finished.
+            permits.acquireUninterruptibly(parallelism);
+            permits.release(parallelism);
+        }
+
+        BatchSummary summary;
+        synchronized (statsLock) {
+            summary = new BatchSummary(operations, failures, System.nanoTime() - start,
+                    latencies.getIntervalHistogram());
+        }
+        logger.info("Batch finished: {}", summary);
+        return summary;
+    }
+
+    // The reader blocks here once `parallelism` chunks are in flight, which bounds how much input is held in memory.
+    private void submit(List<BatchOperation> chunk) {
+        permits.acquireUninterruptibly();
+        try {
+            executor.execute(() -> {
+                try {
+                    runChunk(chunk);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void runChunk(List<BatchOperation> chunk) {
+        ChunkResult result = new ChunkResult(latencies);
+        int from = 0;
+        while (from < chunk.size()) {
+            BatchOperation.Type type = chunk.get(from).getType();
+            int to = from + 1;
+            if (isBulk(type)) {
+                while (to < chunk.size() && chunk.get(to).getType() == type) {
+                    to++;
+                }
+                runBulk(type, chunk.subList(from, to), result);
+            } else {
+                runSingle(chunk.get(from), System.nanoTime(), result);
+            }
+            from = to;
+        }
+        record(chunk.size(), result.failures);
+    }
+
+    private static boolean isBulk(BatchOperation.Type type) {
+        return type == BatchOperation.Type.CREATE || type == BatchOperation.Type.UPDATE
+                || type == BatchOperation.Type.DELETE;
+    }
+
+    private void runBulk(BatchOperation.Type type, List<BatchOperation> run, ChunkResult result) {
+        long start = System.nanoTime();
+        if (run.size() == 1) {
+            runSingle(run.get(0), start, result);
+            return;
+        }
+        List<User> created = null;
+        try {
+            switch (type) {
+                case CREATE:
+                    created = newUsers(run);
+                    userService.createUsers(created);
+                    break;
+                case UPDATE:
+                    updateAll(run);
+                    break;
+                default:
+                    deleteAll(run, start, result);
+                    return;
+            }
+            long elapsed = System.nanoTime() - start;
+            for (int i = 0; i < run.size(); i++) {
+                result.success(elapsed);
+            }
+        } catch (RuntimeException e) {
+            // A bulk call fails as a whole; replaying it line by line pins the failure on the right lines.
+            // Creates that came back with an id were saved and are not replayed.
+            logger.debug("Bulk {} of {} operations failed, retrying one by one", type.getLabel(), run.size(), e);
+            for (int i = 0; i < run.size(); i++) {
+                if (created != null && created.get(i).getId() != null) {
+                    result.success(System.nanoTime() - start);
+                } else {
+                    runSingle(run.get(i), start, result);
+                }
+            }
+        }
+    }
+
+    private static List<User> newUsers(List<BatchOperation> run) {
+        List<User> users = new ArrayList<>(run.size());
+        for (BatchOperation operation : run) {
+            users.add(new User(operation.getName(), operation.getEmail(), operation.getAge()));
+        }
+        return users;
+    }
+
+    private void updateAll(List<BatchOperation> run) {
+        List<UserUpdate> updates = new ArrayList<>(run.size());
+        for (BatchOperation operation : run) {
+            updates.add(new UserUpdate(operation.getId(), operation.getName(), operation.getEmail(), operation.getAge()));
+        }
+        userService.updateAll(updates);
+    }
+
+    private void deleteAll(List<BatchOperation> run, long start, ChunkResult result) {
+        List<Long> ids = new ArrayList<>(run.size());
+        for (BatchOperation operation : run) {
+            ids.add(operation.getId());
+        }
+        Set<Long> missing = new HashSet<>(userService.deleteUsers(ids));
+        long elapsed = System.nanoTime() - start;
+        for (BatchOperation operation : run) {
+            if (missing.contains(operation.getId())) {
+                fail(operation, new UserNotFoundException(operation.getId()).getMessage(), elapsed, result);
+            } else {
+                result.success(elapsed);
+            }
+        }
+    }
+
+    // Latency runs from `start`, so an operation replayed after a failed bulk call is charged for both attempts.
+    private void runSingle(BatchOperation operation, long start, ChunkResult result) {
+        try {
+            switch (operation.getType()) {
+                case CREATE:
+                    userService.createUser(operation.getName(), operation.getEmail(), operation.getAge());
+                    break;
+                case GET:
+                    out.println("Line " + operation.getLine() + ": " + userService.getUserById(operation.getId()));
+                    break;
+                case UPDATE:
+                    userService.updateUser(operation.getId(), operation.getName(), operation.getEmail(),
+                            operation.getAge());
+                    break;
+                case DELETE:
+                    userService.deleteUser(operation.getId());
+                    break;
+                case FIND_BY_EMAIL:
+                    out.println("Line " + operation.getLine() + ": " + userService.getUserByEmail(operation.getEmail()));
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled operation: " + operation.getType());
+            }
+            result.success(System.nanoTime() - start);
+        } catch (UserNotFoundException | EmailAlreadyExistsException | ValidationException e) {
+            fail(operation, e.getMessage(), System.nanoTime() - start, result);
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error on line {}", operation.getLine(), e);
+            fail(operation, "Unexpected error: " + e.getMessage(), System.nanoTime() - start, result);
+        }
+    }
+
+    private void fail(BatchOperation operation, String message, long elapsed, ChunkResult result) {
+        out.println("Line " + operation.getLine() + " (" + operation.getType().getLabel() + "): " + message);
+        result.failure(elapsed);
+    }
+
+    private void record(long chunkOperations, long chunkFailures) {
+        synchronized (statsLock) {
+            operations += chunkOperations;
+            failures += chunkFailures;
+        }
+    }
+
+    private void resetStatistics() {
+        latencies.reset();
+        synchronized (statsLock) {
+            operations = 0;
+            failures = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ChunkResult {
+        private final Recorder latencies;
+        private int failures;
+
+        ChunkResult(Recorder latencies) {
+            this.latencies = latencies;
+        }
+
+        void success(long elapsed) {
+            latencies.recordValue(Math.max(0, elapsed));
+        }
+
+        void failure(long elapsed) {
+            success(elapsed);
+            failures++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.userservice.batch;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+
+public class BatchSummary {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long operations;
+    private final long failures;
+    private final long elapsedNanos;
+    private final Histogram latencyNanos;
+
+    BatchSummary(long operations, long failures, long elapsedNanos, Histogram latencyNanos) {
+        this.operations = operations;
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+        this.latencyNanos = latencyNanos.copy();
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getSucceeded() {
+        return operations - failures;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / NANOS_PER_SECOND;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : operations / getElapsedSeconds();
+    }
+
+    // Percentile (to 3 significant digits) over operations that reached the service; lines that failed to parse
+    // are not timed.
+    public double getLatencyMillis(double percentile) {
+        if (latencyNanos.getTotalCount() == 0) {
+            return 0;
+        }
+        long nanos = percentile >= 100 ? latencyNanos.getMaxValue() : latencyNanos.getValueAtPercentile(percentile);
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    public void print(PrintStream out) {
+        out.println("\n=== Batch Summary ===");
+        out.printf("Operations: %d (%d succeeded, %d failed)%n", operations, getSucceeded(), failures);
+        out.printf("Elapsed: %.3f s%n", getElapsedSeconds());
+        out.printf("Throughput: %.1f ops/s%n", getThroughput());
+        out.printf("Latency (ms): p50=%.2f p95=%.2f p99=%.2f max=%.2f%n",
+                getLatencyMillis(50), getLatencyMillis(95), getLatencyMillis(99), getLatencyMillis(100));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchSummary{operations=%d, failures=%d, elapsed=%.3fs, throughput=%.1f ops/s}",
+                operations, failures, getElapsedSeconds(), getThroughput());
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.userservice.batch;
+
+import java.io.PrintStream;
+
+public class ImportResult {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long rows;
+    private final long imported;
+    private final long invalid;
+    private final long duplicates;
+    private final long existing;
+    private final long elapsedNanos;
+
+    ImportResult(long rows, long imported, long invalid, long duplicates, long existing, long elapsedNanos) {
+        this.rows = rows;
+        this.imported = imported;
+        this.invalid = invalid;
+        this.duplicates = duplicates;
+        this.existing = existing;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    // Repeats of an email seen earlier in the same input.
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    // Rows whose email was already in the users table.
+    public long getExisting() {
+        return existing;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / NANOS_PER_SECOND;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows / getElapsedSeconds();
+    }
+
+    public void print(PrintStream out) {
+        out.println("\n=== Import Summary ===");
+        out.printf("Rows read: %d%n", rows);
+        out.printf("Imported: %d (invalid %d, duplicate in input %d, already present %d)%n",
+                imported, invalid, duplicates, existing);
+        out.printf("Elapsed: %.3f s (%.1f rows/s)%n", getElapsedSeconds(), getRowsPerSecond());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportResult{rows=%d, imported=%d, invalid=%d, duplicates=%d, existing=%d, elapsed=%.3fs}",
+                rows, imported, invalid, duplicates, existing, getElapsedSeconds());
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.userservice.batch;
+
+final class ImportRow {
+
+    private final int line;
+    private final String name;
+    private final String email;
+    private final Integer age;
+
+    ImportRow(int line, String name, String email, Integer age) {
+        this.line = line;
+        this.name = name;
+        this.email = email;
+        this.age = age;
+    }
+
+    int getLine() {
+        return line;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getEmail() {
+        return email;
+    }
+
+    Integer getAge() {
+        return age;
+    }
+}
@@ -0,0 +1,249 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.http.JsonWriter;
+import org.example.userservice.util.HibernateUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Streams the users table to CSV or NDJSON without hydrating User entities. PostgreSQL renders the
+// rows itself through COPY ... TO STDOUT; other dialects fall back to a forward-only cursor scan.
+public class UserExporter {
+
+    private static final Logger logger = LogManager.getLogger(UserExporter.class);
+    static final int STREAM_FETCH_SIZE = 500;
+    static final int CHANNEL_BUFFER_BYTES = 256 * 1024;
+    static final String CSV_HEADER = "id,name,email,age,created_at";
+
+    // Both paths write created_at with microseconds, PostgreSQL's timestamp precision, so COPY and
+    // the cursor scan produce the same text.
+    static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final String CREATED_AT_SQL = "to_char(created_at, 'YYYY-MM-DD\"T\"HH24:MI:SS.US')";
+
+    private static final String SELECT_SQL = "SELECT id, name, email, age, created_at FROM users ORDER BY id";
+    private static final String COPY_CSV_SQL = "COPY (SELECT id, name, email, age, " + CREATED_AT_SQL
+            + " AS created_at FROM users ORDER BY id) TO STDOUT WITH (FORMAT csv, HEADER)";
+    // CSV format with quote and delimiter characters that json_build_object always escapes,
+    // so each JSON document comes out verbatim - text format would double its backslashes.
+    private static final String COPY_NDJSON_SQL = "COPY (SELECT json_build_object('id', id, 'name', name, "
+            + "'email', email, 'age', age, 'createdAt', " + CREATED_AT_SQL + ") FROM users ORDER BY id) "
+            + "TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final SessionFactory sessionFactory;
+    private final boolean postgres;
+
+    public UserExporter() {
+        this(HibernateUtil.getSessionFactory());
+    }
+
+    public UserExporter(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        this.postgres = sessionFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    public long exportTo(Path path, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return exportTo(channel, format);
+        }
+    }
+
+    public long exportTo(WritableByteChannel channel, Format format) throws IOException {
+        ChannelOutputStream out = new ChannelOutputStream(channel);
+        long rows = exportTo(out, format);
+        out.flush();
+        return rows;
+    }
+
+    // Returns the number of rows written; the stream is flushed but left open.
+    public long exportTo(OutputStream out, Format format) throws IOException {
+        logger.info("Exporting users as {} using {}", format, postgres ? "COPY" : "a cursor scan");
+        OutputStream target = out instanceof ChannelOutputStream ? out : new BufferedOutputStream(out);
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            long rows = session.doReturningWork(connection -> {
+                try {
+                    return postgres && connection.isWrapperFor(PGConnection.class)
+                            ? copyOut(connection, target, format)
+                            : scan(connection, target, format);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            transaction.commit();
+            target.flush();
+            logger.info("Exported {} users", rows);
+            return rows;
+        } catch (UncheckedIOException e) {
+            rollback(transaction);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            rollback(transaction);
+            logger.error("Error exporting users", e);
+            throw new RuntimeException("Error exporting users", e);
+        }
+    }
+
+    private static void rollback(Transaction transaction) {
+        if (transaction != null && transaction.isActive()) {
+            transaction.rollback();
+        }
+    }
+
+    private static long copyOut(Connection connection, OutputStream out, Format format)
+            throws SQLException, IOException {
+        return connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyOut(format == Format.CSV ? COPY_CSV_SQL : COPY_NDJSON_SQL, out);
+    }
+
+    private static long scan(Connection connection, OutputStream out, Format format)
+            throws SQLException, IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonWriter json = format == Format.NDJSON ? new JsonWriter(writer) : null;
+        long rows = 0;
+        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(SELECT_SQL)) {
+                if (format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                while (resultSet.next()) {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, resultSet);
+                    } else {
+                        writeJson(json, resultSet);
+                    }
+                    rows++;
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, ResultSet resultSet) throws SQLException, IOException {
+        writer.write(Long.toString(resultSet.getLong(1)));
+        writer.write(',');
+        writeQuoted(writer, resultSet.getString(2));
+        writer.write(',');
+        writeQuoted(writer, resultSet.getString(3));
+        writer.write(',');
+        int age = resultSet.getInt(4);
+        if (!resultSet.wasNull()) {
+            writer.write(Integer.toString(age));
+        }
+        writer.write(',');
+        CREATED_AT_FORMAT.formatTo(resultSet.getObject(5, LocalDateTime.class), writer);
+        writer.write('\n');
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, runStart, i + 1 - runStart);
+                writer.write('"');
+                runStart = i + 1;
+            }
+        }
+        writer.write(value, runStart, value.length() - runStart);
+        writer.write('"');
+    }
+
+    private static void writeJson(JsonWriter json, ResultSet resultSet) throws SQLException, IOException {
+        int age = resultSet.getInt(4);
+        boolean ageNull = resultSet.wasNull();
+        json.beginObject()
+                .name("id").value(resultSet.getLong(1))
+                .name("name").value(resultSet.getString(2))
+                .name("email").value(resultSet.getString(3))
+                .name("age");
+        if (ageNull) {
+            json.nullValue();
+        } else {
+            json.value(age);
+        }
+        json.name("createdAt").value(CREATED_AT_FORMAT.format(resultSet.getObject(5, LocalDateTime.class)))
+                .endObject().newline();
+    }
+
+    // Collects writes in one direct buffer, so the channel is handed large native-memory blocks
+    // instead of a temporary copy of every small heap array.
+    private static final class ChannelOutputStream extends OutputStream {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_BYTES);
+
+        ChannelOutputStream(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.http.JsonReader;
+import org.example.userservice.service.UserService;
+import org.example.userservice.util.HibernateUtil;
+import org.example.userservice.validation.UserValidator;
+import org.hibernate.SessionFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Loads users from CSV (name,email,age) or NDJSON lines through three stages - parse, validate and
+// de-duplicate, write - connected by bounded queues, so a slow database stalls the reader instead of
+// filling the heap. Emails seen in the input are remembered for the whole run.
+public class UserImporter {
+
+    private static final Logger logger = LogManager.getLogger(UserImporter.class);
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    // Lets validation fill the next batch while the writer is busy with the current one.
+    private static final int BATCH_QUEUE_CAPACITY = 2;
+    private static final int STAGES = 3;
+    static final String CSV_HEADER = "name";
+
+    private static final ImportRow END_OF_ROWS = new ImportRow(-1, null, null, null);
+    private static final List<ImportRow> END_OF_BATCHES = new ArrayList<>(0);
+
+    private final UserTableWriter writer;
+    private final UserValidator validator;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final PrintStream out;
+
+    public UserImporter(UserService userService, PrintStream out) {
+        this(userService.getValidator(), out);
+    }
+
+    // The importer writes through its own UserTableWriter, so it needs no UserService or DAO stack.
+    public UserImporter(UserValidator validator, PrintStream out) {
+        this(HibernateUtil.getSessionFactory(), validator, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY, out);
+    }
+
+    public UserImporter(SessionFactory sessionFactory, UserValidator validator, int batchSize, int queueCapacity,
+                        PrintStream out) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.writer = new UserTableWriter(sessionFactory);
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.out = out;
+    }
+
+    public ImportResult importFrom(BufferedReader reader) throws IOException {
+        logger.info("Importing users in batches of {} using {}", batchSize, writer.usesCopy() ? "COPY" : "JDBC batches");
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+        BlockingQueue<ImportRow> rows = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<ImportRow>> batches = new ArrayBlockingQueue<>(BATCH_QUEUE_CAPACITY);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorCompletionService<Void> stages = new ExecutorCompletionService<>(executor);
+        List<Future<Void>> futures = new ArrayList<>(STAGES);
+        try {
+            futures.add(stages.submit(() -> parse(reader, rows, counters)));
+            futures.add(stages.submit(() -> validate(rows, batches, counters)));
+            futures.add(stages.submit(() -> write(batches, counters)));
+            for (int i = 0; i < STAGES; i++) {
+                stages.take().get();
+            }
+        } catch (ExecutionException e) {
+            // A failed stage would leave its neighbours blocked on a queue forever; interrupt them.
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Import failed", cause);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ImportResult result = new ImportResult(counters.rows, counters.imported,
+                counters.unparseable + counters.invalid, counters.duplicates, counters.existing,
+                System.nanoTime() - start);
+        logger.info("Import finished: {}", result);
+        return result;
+    }
+
+    private Void parse(BufferedReader reader, BlockingQueue<ImportRow> rows, Counters counters)
+            throws IOException, InterruptedException {
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            ImportRow row;
+            try {
+                row = parseRow(lineNumber, line);
+            } catch (ValidationException e) {
+                out.println("Line " + lineNumber + ": " + e.getMessage());
+                counters.rows++;
+                counters.unparseable++;
+                continue;
+            }
+            if (row != null) {
+                counters.rows++;
+                rows.put(row);
+            }
+        }
+        rows.put(END_OF_ROWS);
+        return null;
+    }
+
+    static ImportRow parseRow(int line, String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        if (trimmed.startsWith("{")) {
+            Map<String, Object> values = JsonReader.readObject(trimmed);
+            return new ImportRow(line, BatchOperationParser.jsonString(values, "name"),
+                    BatchOperationParser.jsonString(values, "email"), BatchOperationParser.jsonInteger(values, "age"));
+        }
+
+        List<String> fields = BatchOperationParser.splitCsv(trimmed);
+        if (line == 1 && CSV_HEADER.equalsIgnoreCase(fields.get(0))) {
+            return null;
+        }
+        if (fields.size() > 3) {
+            throw new ValidationException("Expected at most 3 CSV fields but got " + fields.size());
+        }
+        String age = BatchOperationParser.field(fields, 2);
+        try {
+            return new ImportRow(line, BatchOperationParser.field(fields, 0), BatchOperationParser.field(fields, 1),
+                    age == null ? null : Integer.parseInt(age));
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Field 'age' must be an integer");
+        }
+    }
+
+    private Void validate(BlockingQueue<ImportRow> rows, BlockingQueue<List<ImportRow>> batches, Counters counters)
+            throws InterruptedException {
+        Set<String> seen = new HashSet<>();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        ImportRow row;
+        while ((row = rows.take()) != END_OF_ROWS) {
+            String violation = validator.firstViolation(row.getName(), row.getEmail(), row.getAge());
+            if (violation != null) {
+                out.println("Line " + row.getLine() + ": " + violation);
+                counters.invalid++;
+                continue;
+            }
+            if (!seen.add(row.getEmail())) {
+                counters.duplicates++;
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                batches.put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.put(batch);
+        }
+        batches.put(END_OF_BATCHES);
+        return null;
+    }
+
+    private Void write(BlockingQueue<List<ImportRow>> batches, Counters counters) throws InterruptedException {
+        List<ImportRow> batch;
+        while ((batch = batches.take()) != END_OF_BATCHES) {
+            int inserted = writer.insert(batch);
+            counters.imported += inserted;
+            counters.existing += batch.size() - inserted;
+        }
+        return null;
+    }
+
+    // Each field is written by exactly one stage; Future.get() publishes the values to the caller.
+    private static final class Counters {
+        private long rows;
+        private long unparseable;
+        private long invalid;
+        private long duplicates;
+        private long imported;
+        private long existing;
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Inserts pre-validated rows behind Hibernate's back: COPY into a staging table on PostgreSQL,
+// batched INSERTs elsewhere. Rows whose email is already taken are skipped, not failed.
+final class UserTableWriter {
+
+    private static final Logger logger = LogManager.getLogger(UserTableWriter.class);
+    static final int JDBC_BATCH_SIZE = 1000;
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS users_import (LIKE users INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+    private static final String COPY_SQL =
+            "COPY users_import (id, name, email, age, created_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE_STAGING_SQL =
+            "INSERT INTO users (id, name, email, age, created_at) SELECT id, name, email, age, created_at "
+                    + "FROM users_import ON CONFLICT (email) DO NOTHING";
+    private static final String INSERT_SQL = "INSERT INTO users (id, name, email, age, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String POSTGRES_ID_BLOCKS_SQL =
+            "SELECT nextval('" + User.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    private final SessionFactory sessionFactory;
+    private final boolean postgres;
+    private final String nextIdBlockSql;
+
+    UserTableWriter(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+        Dialect dialect = sessionFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+        this.nextIdBlockSql = dialect.getSequenceSupport().getSequenceNextValString(User.ID_SEQUENCE);
+    }
+
+    boolean usesCopy() {
+        return postgres;
+    }
+
+    // One transaction per call; returns how many rows were inserted, the rest already existed.
+    int insert(List<ImportRow> rows) {
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            int inserted = session.doReturningWork(connection -> {
+                long[] ids = allocateIds(connection, rows.size());
+                Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+                return postgres && connection.isWrapperFor(PGConnection.class)
+                        ? copy(connection, rows, ids, createdAt)
+                        : batchInsert(connection, rows, ids, createdAt);
+            });
+            transaction.commit();
+            logger.debug("Imported {} of {} users", inserted, rows.size());
+            return inserted;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error importing batch of {} users", rows.size(), e);
+            throw new RuntimeException("Error importing batch of " + rows.size() + " users", e);
+        }
+    }
+
+    // Takes whole blocks from users_seq the way Hibernate's pooled optimizer does: a sequence value v
+    // owns ids (v - allocationSize, v], so imported ids never collide with ones the ORM hands out.
+    private long[] allocateIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+            for (long hi : nextIdBlocks(connection, blocks)) {
+                // The sequence starts at 1, which does not close a full block.
+                if (hi < User.ID_ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = hi - User.ID_ALLOCATION_SIZE + 1; id <= hi && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long[] nextIdBlocks(Connection connection, int blocks) throws SQLException {
+        long[] values = new long[blocks];
+        if (postgres) {
+            try (PreparedStatement statement = connection.prepareStatement(POSTGRES_ID_BLOCKS_SQL)) {
+                statement.setInt(1, blocks);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    for (int i = 0; resultSet.next(); i++) {
+                        values[i] = resultSet.getLong(1);
+                    }
+                }
+            }
+            return values;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(nextIdBlockSql)) {
+            for (int i = 0; i < blocks; i++) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    values[i] = resultSet.getLong(1);
+                }
+            }
+        }
+        return values;
+    }
+
+    // The staging table has no unique index, so COPY cannot fail on a duplicate email;
+    // ON CONFLICT then drops rows that already exist in users.
+    private int copy(Connection connection, List<ImportRow> rows, long[] ids, Timestamp createdAt) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CREATE_STAGING_SQL)) {
+            statement.execute();
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            String createdAtText = createdAt.toString();
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 512);
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                buffer.append(ids[i]).append(',');
+                appendQuoted(buffer, row.getName()).append(',');
+                appendQuoted(buffer, row.getEmail()).append(',');
+                if (row.getAge() != null) {
+                    buffer.append(row.getAge().intValue());
+                }
+                buffer.append(',').append(createdAtText).append('\n');
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    writeToCopy(copyIn, buffer);
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(MERGE_STAGING_SQL)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // COPY CSV treats an unquoted empty field as NULL, so text columns are always quoted.
+    private static StringBuilder appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    // Fallback for dialects without COPY; not safe against a concurrent writer inserting the same email.
+    private int batchInsert(Connection connection, List<ImportRow> rows, long[] ids, Timestamp createdAt)
+            throws SQLException {
+        Set<String> existing = existingEmails(connection, rows);
+        int inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            int pending = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                if (existing.contains(row.getEmail())) {
+                    continue;
+                }
+                statement.setLong(1, ids[i]);
+                statement.setString(2, row.getName());
+                statement.setString(3, row.getEmail());
+                if (row.getAge() == null) {
+                    statement.setNull(4, Types.INTEGER);
+                } else {
+                    statement.setInt(4, row.getAge());
+                }
+                statement.setTimestamp(5, createdAt);
+                statement.addBatch();
+                inserted++;
+                if (++pending == JDBC_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+        return inserted;
+    }
+
+    private static Set<String> existingEmails(Connection connection, List<ImportRow> rows) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<ImportRow> chunk = rows.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, rows.size()));
+            StringBuilder sql = new StringBuilder("SELECT email FROM users WHERE email IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql.append(')').toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setString(i + 1, chunk.get(i).getEmail());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+}
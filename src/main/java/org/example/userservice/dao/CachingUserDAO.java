@@ -0,0 +1,312 @@
+package org.example.userservice.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.userservice.entity.User;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+public class CachingUserDAO implements UserDAO {
+
+    private static final Logger logger = LogManager.getLogger(CachingUserDAO.class);
+
+    static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final UserDAO delegate;
+    private final Cache<Long, User> usersById;
+    private final Cache<String, User> usersByEmail;
+    private final Cache<String, Boolean> absentEmails;
+    // The email each cached id is filed under in usersByEmail. The two caches evict independently, so a
+    // write must find the old email here rather than in a usersById entry that may already be gone.
+    private final ConcurrentMap<Long, String> emailsById = new ConcurrentHashMap<>();
+    // Writers bump these before and after calling the delegate; a reader only fills the cache when the
+    // generation it saw before loading is unchanged, so a load that raced a write cannot cache the old row.
+    private final AtomicLongArray idGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    public CachingUserDAO(UserDAO delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    public CachingUserDAO(UserDAO delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.delegate = delegate;
+        // Caffeine evicts with Window TinyLFU, so one-off scans do not flush frequently read users.
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String email, User user, RemovalCause cause) -> {
+                    if (user != null) {
+                        emailsById.remove(user.getId(), email);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.absentEmails = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public User save(User user) {
+        List<String> emails = List.of(user.getEmail());
+        fence(List.of(), emails);
+        User saved;
+        try {
+            saved = delegate.save(user);
+        } finally {
+            fence(List.of(), emails);
+        }
+        put(saved, () -> true);
+        return saved;
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<String> emails = users.stream().map(User::getEmail).toList();
+        fence(List.of(), emails);
+        try {
+            return delegate.saveAll(users);
+        } finally {
+            fence(List.of(), emails);
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        User cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        long generation = idGeneration(id);
+        Optional<User> user = delegate.findById(id);
+        user.ifPresent(found -> put(found, () -> idGeneration(found.getId()) == generation));
+        return user;
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return delegate.streamAll(consumer);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        return delegate.findSummaryPage(afterId, limit);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return delegate.streamSummaries(consumer);
+    }
+
+    @Override
+    public User update(User user) {
+        List<Long> ids = user.getId() != null ? List.of(user.getId()) : List.of();
+        List<String> emails = List.of(user.getEmail());
+        fence(ids, emails);
+        try {
+            return delegate.update(user);
+        } finally {
+            fence(ids, emails);
+        }
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        List<Long> ids = updates.stream().map(UserUpdate::getId).toList();
+        List<String> emails = updates.stream().map(UserUpdate::getEmail).toList();
+        fence(ids, emails);
+        try {
+            return delegate.updateAll(updates);
+        } finally {
+            fence(ids, emails);
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        List<Long> ids = id != null ? List.of(id) : List.of();
+        fence(ids, List.of());
+        try {
+            delegate.delete(id);
+        } finally {
+            fence(ids, List.of());
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        fence(ids, List.of());
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            fence(ids, List.of());
+        }
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        User cached = usersByEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        if (absentEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+
+        long generation = writeGeneration.get();
+        Optional<User> user = delegate.findByEmail(email);
+        if (user.isPresent()) {
+            put(user.get(), () -> writeGeneration.get() == generation);
+        } else {
+            putAbsent(email, generation);
+        }
+        return user;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (usersByEmail.getIfPresent(email) != null) {
+            return true;
+        }
+        if (absentEmails.getIfPresent(email) != null) {
+            return false;
+        }
+
+        long generation = writeGeneration.get();
+        boolean exists = delegate.existsByEmail(email);
+        if (!exists) {
+            putAbsent(email, generation);
+        }
+        return exists;
+    }
+
+    public CacheStats getStats() {
+        return usersById.stats().plus(usersByEmail.stats());
+    }
+
+    public CacheStats getNegativeStats() {
+        return absentEmails.stats();
+    }
+
+    public void invalidateAll() {
+        usersById.invalidateAll();
+        usersByEmail.invalidateAll();
+        emailsById.clear();
+        absentEmails.invalidateAll();
+    }
+
+    // Drops only the by-id entry, the way size-based eviction can.
+    void evictIdEntry(Long id) {
+        usersById.invalidate(id);
+    }
+
+    // Runs inside the usersById compute for the id, which serializes it with evict() for the same id.
+    private void put(User user, BooleanSupplier unchanged) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        User copy = copyOf(user);
+        usersById.asMap().compute(copy.getId(), (id, cached) -> {
+            if (!unchanged.getAsBoolean()) {
+                return cached;
+            }
+            String previous = emailsById.put(id, copy.getEmail());
+            if (previous != null && !previous.equals(copy.getEmail())) {
+                usersByEmail.invalidate(previous);
+            }
+            usersByEmail.put(copy.getEmail(), copy);
+            absentEmails.invalidate(copy.getEmail());
+            return copy;
+        });
+    }
+
+    private void putAbsent(String email, long generation) {
+        absentEmails.asMap().compute(email, (key, cached) ->
+                writeGeneration.get() == generation ? Boolean.TRUE : cached);
+    }
+
+    // Called before and after every delegate write: bumps the generations, then drops what the write touches.
+    private void fence(Collection<Long> ids, Collection<String> emails) {
+        writeGeneration.incrementAndGet();
+        for (Long id : ids) {
+            if (id != null) {
+                idGenerations.incrementAndGet(stripe(id));
+            }
+        }
+        ids.forEach(this::evict);
+        emails.forEach(email -> {
+            if (email != null) {
+                absentEmails.invalidate(email);
+            }
+        });
+    }
+
+    private void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        usersById.asMap().compute(id, (key, cached) -> {
+            String email = emailsById.remove(key);
+            if (email != null) {
+                usersByEmail.invalidate(email);
+            }
+            if (cached != null) {
+                usersByEmail.invalidate(cached.getEmail());
+            }
+            return null;
+        });
+        logger.debug("Evicted cached user: {}", id);
+    }
+
+    private long idGeneration(Long id) {
+        return idGenerations.get(stripe(id));
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    // Callers mutate the users they get back (see UserService.updateUser), so the cache never hands out its own instances.
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getCreatedAt());
+    }
+}
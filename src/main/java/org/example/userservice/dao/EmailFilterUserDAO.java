@@ -0,0 +1,210 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Answers existsByEmail from an in-memory Bloom filter of registered emails when the filter says the
+// email is definitely absent, and falls through to the delegate otherwise. Only existsByEmail is
+// short-circuited: it is a pre-check backed by the users.email unique constraint, so an email written by
+// another process (or the bulk importer) that the filter has not seen yet still fails on write.
+public class EmailFilterUserDAO implements UserDAO {
+
+    private static final Logger logger = LogManager.getLogger(EmailFilterUserDAO.class);
+
+    static final long DEFAULT_EXPECTED_EMAILS = 1_000_000;
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    // Room for rows inserted between the count and the end of the scan.
+    private static final double GROWTH_HEADROOM = 1.25;
+
+    private final UserDAO delegate;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final LongAdder shortCircuits = new LongAdder();
+    private volatile Filters filters = new Filters(null, null);
+
+    // Loads the filter on a background thread; existsByEmail queries the delegate until it is ready.
+    public EmailFilterUserDAO(UserDAO delegate) {
+        this(delegate, DEFAULT_EXPECTED_EMAILS, DEFAULT_FALSE_POSITIVE_RATE);
+        rebuildInBackground();
+    }
+
+    // Starts without a filter; call rebuild() to load it. expectedEmails is the smallest filter built.
+    public EmailFilterUserDAO(UserDAO delegate, long expectedEmails, double falsePositiveRate) {
+        this.delegate = delegate;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    // Rescans users.email into a fresh filter sized from the row count, then swaps it in. Emails written
+    // during the scan go into both filters. Deleted or renamed emails linger as false positives until the
+    // next rebuild. Only when the table outgrows the headroom during the scan is it scanned again.
+    public synchronized long rebuild() {
+        long expected = Math.max(expectedEmails, (long) (delegate.count() * GROWTH_HEADROOM));
+        while (true) {
+            EmailBloomFilter next = new EmailBloomFilter(expected, falsePositiveRate);
+            filters = new Filters(filters.current, next);
+            long emails;
+            try {
+                emails = delegate.streamSummaries(summary -> next.add(summary.getEmail()));
+            } catch (RuntimeException e) {
+                filters = new Filters(filters.current, null);
+                throw e;
+            }
+            if (next.getInsertions() <= expected) {
+                filters = new Filters(next, null);
+                logger.info("Email filter loaded {} emails ({} bits, {} hashes)",
+                        emails, next.getBitCount(), next.getHashCount());
+                return emails;
+            }
+            expected = next.getInsertions() * 2;
+        }
+    }
+
+    public CompletableFuture<Long> rebuildInBackground() {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                result.complete(rebuild());
+            } catch (RuntimeException e) {
+                logger.warn("Could not build email filter, existsByEmail will query the database", e);
+                result.completeExceptionally(e);
+            }
+        }, "email-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return result;
+    }
+
+    public boolean isLoaded() {
+        return filters.current != null;
+    }
+
+    public long getShortCircuitCount() {
+        return shortCircuits.sum();
+    }
+
+    @Override
+    public User save(User user) {
+        add(user.getEmail());
+        User saved = delegate.save(user);
+        add(saved.getEmail());
+        return saved;
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        users.forEach(user -> add(user.getEmail()));
+        List<User> saved = delegate.saveAll(users);
+        saved.forEach(user -> add(user.getEmail()));
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return delegate.streamAll(consumer);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        return delegate.findSummaryPage(afterId, limit);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return delegate.streamSummaries(consumer);
+    }
+
+    @Override
+    public User update(User user) {
+        add(user.getEmail());
+        User updated = delegate.update(user);
+        add(user.getEmail());
+        return updated;
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        updates.forEach(update -> add(update.getEmail()));
+        List<User> updated = delegate.updateAll(updates);
+        updates.forEach(update -> add(update.getEmail()));
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        delegate.delete(id);
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        return delegate.deleteAll(ids);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        EmailBloomFilter current = filters.current;
+        if (current != null && email != null && !current.mightContain(email)) {
+            shortCircuits.increment();
+            return false;
+        }
+        return delegate.existsByEmail(email);
+    }
+
+    // Written before the delegate call so concurrent existence checks never miss an in-flight write, and
+    // again after it so a write that commits behind a rebuild's scan still reaches the new filter.
+    private void add(String email) {
+        if (email == null) {
+            return;
+        }
+        Filters snapshot = filters;
+        if (snapshot.current != null) {
+            snapshot.current.add(email);
+        }
+        if (snapshot.pending != null) {
+            snapshot.pending.add(email);
+        }
+    }
+
+    private static final class Filters {
+        private final EmailBloomFilter current;
+        private final EmailBloomFilter pending;
+
+        private Filters(EmailBloomFilter current, EmailBloomFilter pending) {
+            this.current = current;
+            this.pending = pending;
+        }
+    }
+}
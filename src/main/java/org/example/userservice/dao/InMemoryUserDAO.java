@@ -0,0 +1,449 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+// Heap-only UserDAO for edge caches, load tests and running UserService without PostgreSQL. Rows are
+// immutable snapshots held in striped long-keyed maps; reads take an optimistic stamp and only fall back to
+// the read lock when a writer raced them. Ids come from an in-process sequence, so scans and pages walk the
+// id range directly instead of sorting. Every returned User is a fresh copy.
+public class InMemoryUserDAO implements UserDAO {
+
+    private static final Logger logger = LogManager.getLogger(InMemoryUserDAO.class);
+
+    static final int DEFAULT_STRIPES = 64;
+    static final int DEFAULT_EXPECTED_USERS = 1 << 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final ConcurrentMap<String, Row> byEmail;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public InMemoryUserDAO() {
+        this(DEFAULT_STRIPES, DEFAULT_EXPECTED_USERS);
+    }
+
+    public InMemoryUserDAO(int stripes, int expectedUsers) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a positive power of two");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(Math.max(16, expectedUsers / stripes));
+        }
+        this.stripeMask = stripes - 1;
+        this.byEmail = new ConcurrentHashMap<>(Math.max(16, expectedUsers));
+    }
+
+    @Override
+    public User save(User user) {
+        Row row = Row.of(sequence.incrementAndGet(), user);
+        if (byEmail.putIfAbsent(row.email, row) != null) {
+            logger.warn("Email already exists: {}", row.email);
+            throw new EmailAlreadyExistsException(row.email);
+        }
+        stripe(row.id).put(row);
+
+        user.setId(row.boxedId);
+        user.setCreatedAt(row.createdAt);
+        return user;
+    }
+
+    // All or nothing, like one transaction: a taken email releases every email reserved so far.
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> pending = new ArrayList<>(users);
+        List<Row> rows = new ArrayList<>(pending.size());
+        for (User user : pending) {
+            Row row = Row.of(sequence.incrementAndGet(), user);
+            if (byEmail.putIfAbsent(row.email, row) != null) {
+                rows.forEach(reserved -> byEmail.remove(reserved.email, reserved));
+                logger.warn("Email already exists: {}", row.email);
+                throw new EmailAlreadyExistsException(row.email);
+            }
+            rows.add(row);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            stripe(row.id).put(row);
+            pending.get(i).setId(row.boxedId);
+            pending.get(i).setCreatedAt(row.createdAt);
+        }
+        return pending;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Row row = find(id);
+        return row != null ? Optional.of(row.toUser()) : Optional.empty();
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>(size());
+        streamRows(row -> users.add(row.toUser()));
+        return users;
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        List<User> users = new ArrayList<>(Math.min(limit, size()));
+        Long nextCursor = page(afterId, limit, row -> users.add(row.toUser()));
+        return new Page<>(users, nextCursor);
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return streamRows(row -> consumer.accept(row.toUser()));
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        List<UserSummary> users = new ArrayList<>(Math.min(limit, size()));
+        Long nextCursor = page(afterId, limit, row -> users.add(row.toSummary()));
+        return new Page<>(users, nextCursor);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return streamRows(row -> consumer.accept(row.toSummary()));
+    }
+
+    @Override
+    public User update(User user) {
+        Long id = user.getId();
+        if (id == null) {
+            throw new UserNotFoundException("User has no id: " + user.getEmail());
+        }
+        Stripe stripe = stripe(id);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Row existing = stripe.rows.get(id);
+            if (existing == null) {
+                throw new UserNotFoundException(id);
+            }
+            Row updated = existing.with(user.getName(), user.getEmail(), user.getAge());
+            moveEmail(existing, updated);
+            stripe.rows.put(id, updated);
+            user.setCreatedAt(updated.createdAt);
+            return user;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    // Locks every touched stripe in index order, checks all ids and emails, then applies every update.
+    // Emails are checked against the requested state, so users in the batch may swap or pass on emails.
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        Map<Long, UserUpdate> updatesById = new LinkedHashMap<>();
+        for (UserUpdate update : updates) {
+            updatesById.put(update.getId(), update);
+        }
+        if (updatesById.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        TreeSet<Integer> touched = new TreeSet<>();
+        for (Long id : updatesById.keySet()) {
+            touched.add(stripeIndex(id));
+        }
+        long[] stamps = new long[stripes.length];
+        for (int index : touched) {
+            stamps[index] = stripes[index].lock.writeLock();
+        }
+        try {
+            List<Row> existing = new ArrayList<>(updatesById.size());
+            List<Row> replacements = new ArrayList<>(updatesById.size());
+            Set<String> requestedEmails = new HashSet<>();
+            for (UserUpdate update : updatesById.values()) {
+                Row row = stripe(update.getId()).rows.get(update.getId());
+                if (row == null) {
+                    logger.warn("User not found: {}", update.getId());
+                    throw new UserNotFoundException(update.getId());
+                }
+                Row owner = byEmail.get(update.getEmail());
+                if (!requestedEmails.add(update.getEmail())
+                        || (owner != null && owner.id != row.id && !updatesById.containsKey(owner.id))) {
+                    logger.warn("Email already exists during update: {}", update.getEmail());
+                    throw new EmailAlreadyExistsException(update.getEmail());
+                }
+                existing.add(row);
+                replacements.add(row.with(update.getName(), update.getEmail(), update.getAge()));
+            }
+
+            // Reserve new emails first so a concurrent save cannot slip in between check and apply. An email
+            // still held by another row of the batch is taken over; that row is locked and gives it up below.
+            Map<Long, Row> batchRows = new HashMap<>();
+            existing.forEach(row -> batchRows.put(row.id, row));
+            List<Row> reserved = new ArrayList<>();
+            List<Row> displaced = new ArrayList<>();
+            for (int i = 0; i < existing.size(); i++) {
+                Row replacement = replacements.get(i);
+                if (!existing.get(i).email.equals(replacement.email)) {
+                    Row holder = byEmail.putIfAbsent(replacement.email, replacement);
+                    if (holder != null && (batchRows.get(holder.id) != holder
+                            || !byEmail.replace(replacement.email, holder, replacement))) {
+                        for (int j = reserved.size() - 1; j >= 0; j--) {
+                            Row row = reserved.get(j);
+                            if (displaced.get(j) != null) {
+                                byEmail.replace(row.email, row, displaced.get(j));
+                            } else {
+                                byEmail.remove(row.email, row);
+                            }
+                        }
+                        throw new EmailAlreadyExistsException(replacement.email);
+                    }
+                    reserved.add(replacement);
+                    displaced.add(holder);
+                }
+            }
+
+            List<User> updated = new ArrayList<>(replacements.size());
+            for (int i = 0; i < existing.size(); i++) {
+                Row previous = existing.get(i);
+                Row replacement = replacements.get(i);
+                if (previous.email.equals(replacement.email)) {
+                    byEmail.replace(previous.email, previous, replacement);
+                } else {
+                    byEmail.remove(previous.email, previous);
+                }
+                stripe(replacement.id).rows.put(replacement.id, replacement);
+                updated.add(replacement.toUser());
+            }
+            return updated;
+        } finally {
+            for (int index : touched.descendingSet()) {
+                stripes[index].lock.unlockWrite(stamps[index]);
+            }
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        if (remove(id) == null) {
+            logger.warn("User not found: {}", id);
+            throw new UserNotFoundException("User not found: " + id);
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (remove(id) == null) {
+                notFound.add(id);
+            }
+        }
+        return notFound;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        Row row = email != null ? byEmail.get(email) : null;
+        return row != null ? Optional.of(row.toUser()) : Optional.empty();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && byEmail.containsKey(email);
+    }
+
+    @Override
+    public long count() {
+        return size();
+    }
+
+    public int size() {
+        return byEmail.size();
+    }
+
+    // Inserts a user that already carries its id, e.g. when replaying a log; the sequence moves past it.
+    void restore(User user) {
+        Row row = Row.of(user.getId(), user);
+        sequence.accumulateAndGet(row.id, Math::max);
+        if (byEmail.putIfAbsent(row.email, row) != null) {
+            throw new EmailAlreadyExistsException(row.email);
+        }
+        stripe(row.id).put(row);
+    }
+
+    private Row find(long id) {
+        Stripe stripe = stripe(id);
+        StampedLock lock = stripe.lock;
+        long stamp = lock.tryOptimisticRead();
+        Row row = stripe.rows.get(id);
+        if (lock.validate(stamp)) {
+            return row;
+        }
+        stamp = lock.readLock();
+        try {
+            return stripe.rows.get(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Row remove(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Stripe stripe = stripe(id);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Row removed = stripe.rows.remove(id);
+            if (removed != null) {
+                byEmail.remove(removed.email, removed);
+            }
+            return removed;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+    }
+
+    private void moveEmail(Row existing, Row updated) {
+        if (existing.email.equals(updated.email)) {
+            byEmail.replace(existing.email, existing, updated);
+            return;
+        }
+        if (byEmail.putIfAbsent(updated.email, updated) != null) {
+            logger.warn("Email already exists: {}", updated.email);
+            throw new EmailAlreadyExistsException(updated.email);
+        }
+        byEmail.remove(existing.email, existing);
+    }
+
+    // Ids are handed out densely, so walking the id range visits rows in order without sorting; gaps
+    // left by deletes cost one probe each.
+    private long streamRows(Consumer<Row> consumer) {
+        long last = sequence.get();
+        long count = 0;
+        for (long id = 1; id <= last; id++) {
+            Row row = find(id);
+            if (row != null) {
+                consumer.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Long page(Long afterId, int limit, Consumer<Row> consumer) {
+        long last = sequence.get();
+        // Checked before afterId + 1, which would wrap for Long.MAX_VALUE and walk the whole long range.
+        if (afterId != null && afterId >= last) {
+            return null;
+        }
+        int found = 0;
+        Row previous = null;
+        for (long id = afterId == null || afterId < 1 ? 1 : afterId + 1; id <= last; id++) {
+            Row row = find(id);
+            if (row == null) {
+                continue;
+            }
+            if (found == limit) {
+                return previous.boxedId;
+            }
+            consumer.accept(row);
+            previous = row;
+            found++;
+        }
+        return null;
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    private int stripeIndex(long id) {
+        return (int) id & stripeMask;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private final LongObjectMap<Row> rows;
+
+        private Stripe(int expectedRows) {
+            this.rows = new LongObjectMap<>(expectedRows);
+        }
+
+        private void put(Row row) {
+            long stamp = lock.writeLock();
+            try {
+                rows.put(row.id, row);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    // Immutable snapshot of a stored user. The boxed id is created once on insert and shared by every copy
+    // handed out, so reads do not box.
+    private static final class Row {
+        private final long id;
+        private final Long boxedId;
+        private final String name;
+        private final String email;
+        private final Integer age;
+        private final LocalDateTime createdAt;
+
+        private Row(long id, Long boxedId, String name, String email, Integer age, LocalDateTime createdAt) {
+            this.id = id;
+            this.boxedId = boxedId;
+            this.name = name;
+            this.email = email;
+            this.age = age;
+            this.createdAt = createdAt;
+        }
+
+        private static Row of(long id, User user) {
+            LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+            return new Row(id, id, user.getName(), user.getEmail(), user.getAge(), createdAt);
+        }
+
+        private Row with(String name, String email, Integer age) {
+            return new Row(id, boxedId, name, email, age, createdAt);
+        }
+
+        private User toUser() {
+            return new User(boxedId, name, email, age, createdAt);
+        }
+
+        private UserSummary toSummary() {
+            return new UserSummary(boxedId, name, email);
+        }
+    }
+}
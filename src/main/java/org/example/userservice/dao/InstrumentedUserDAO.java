@@ -0,0 +1,99 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.metrics.MetricsRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class InstrumentedUserDAO implements UserDAO {
+
+    private final UserDAO delegate;
+    private final MetricsRegistry metrics;
+
+    public InstrumentedUserDAO(UserDAO delegate) {
+        this(delegate, MetricsRegistry.global());
+    }
+
+    public InstrumentedUserDAO(UserDAO delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public User save(User user) {
+        return metrics.time("dao.save", () -> delegate.save(user));
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        return metrics.time("dao.saveAll", () -> delegate.saveAll(users));
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return metrics.time("dao.findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<User> findAll() {
+        return metrics.time("dao.findAll", delegate::findAll);
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        return metrics.time("dao.findPage", () -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return metrics.time("dao.streamAll", () -> delegate.streamAll(consumer));
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        return metrics.time("dao.findSummaryPage", () -> delegate.findSummaryPage(afterId, limit));
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return metrics.time("dao.streamSummaries", () -> delegate.streamSummaries(consumer));
+    }
+
+    @Override
+    public User update(User user) {
+        return metrics.time("dao.update", () -> delegate.update(user));
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        return metrics.time("dao.updateAll", () -> delegate.updateAll(updates));
+    }
+
+    @Override
+    public void delete(Long id) {
+        metrics.run("dao.delete", () -> delegate.delete(id));
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        return metrics.time("dao.deleteAll", () -> delegate.deleteAll(ids));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return metrics.time("dao.findByEmail", () -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return metrics.time("dao.existsByEmail", () -> delegate.existsByEmail(email));
+    }
+
+    @Override
+    public long count() {
+        return metrics.time("dao.count", delegate::count);
+    }
+}
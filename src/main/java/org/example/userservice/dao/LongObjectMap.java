@@ -0,0 +1,142 @@
+package org.example.userservice.dao;
+
+// Open-addressing hash map from positive long keys to values, with linear probing and backward-shift
+// deletion, so lookups never box the key and there are no tombstones. Not thread-safe for writers; get()
+// tolerates a concurrent writer (it may return a stale or null value but never throws), which lets callers
+// read under a StampedLock optimistic stamp and validate afterwards.
+final class LongObjectMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // Keys and values live in one object so a reader never pairs arrays from before and after a resize.
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private Table table;
+    private int size;
+    private int resizeAt;
+
+    LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new Table(capacity);
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table t = table;
+        long[] keys = t.keys;
+        int mask = t.mask;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys[slot];
+            if (current == key) {
+                return (V) t.values[slot];
+            }
+            if (current == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        Table t = table;
+        int slot = slot(key, t.mask);
+        while (true) {
+            long current = t.keys[slot];
+            if (current == key) {
+                V previous = (V) t.values[slot];
+                t.values[slot] = value;
+                return previous;
+            }
+            if (current == EMPTY) {
+                t.values[slot] = value;
+                t.keys[slot] = key;
+                if (++size > resizeAt) {
+                    resize();
+                }
+                return null;
+            }
+            slot = (slot + 1) & t.mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        Table t = table;
+        int mask = t.mask;
+        int slot = slot(key, mask);
+        while (true) {
+            long current = t.keys[slot];
+            if (current == EMPTY) {
+                return null;
+            }
+            if (current == key) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        V removed = (V) t.values[slot];
+        // Shift later entries of the same probe run back into the hole so lookups never stop early.
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (t.keys[next] != EMPTY) {
+            int home = slot(t.keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                t.keys[hole] = t.keys[next];
+                t.values[hole] = t.values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        t.keys[hole] = EMPTY;
+        t.values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        Table old = table;
+        Table grown = new Table(old.keys.length << 1);
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key != EMPTY) {
+                int slot = slot(key, grown.mask);
+                while (grown.keys[slot] != EMPTY) {
+                    slot = (slot + 1) & grown.mask;
+                }
+                grown.keys[slot] = key;
+                grown.values[slot] = old.values[i];
+            }
+        }
+        table = grown;
+        resizeAt = (int) (grown.keys.length * LOAD_FACTOR);
+    }
+
+    // Ids come from a sequence, so the low bits are already evenly spread; a Fibonacci multiply keeps
+    // strided or clustered keys from piling into one probe run.
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,481 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Durable local UserDAO: every save/update/delete is validated against the in-memory state, appended to a
+// memory-mapped UserLog, then applied to an InMemoryUserDAO that serves all reads. Batch calls become one
+// log record, or a run of records closed by an END flag when they outgrow a segment, so they replay
+// all-or-nothing. On startup the newest snapshot is loaded and the log tail
+// after it is replayed. A background task snapshots once enough log has accumulated and deletes the
+// segments and snapshots that the new snapshot covers.
+//
+// Appends land in the page cache, so they survive a process crash; pass forceOnWrite to also survive
+// power loss at the cost of an msync per write.
+public class MappedLogUserDAO implements UserDAO, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(MappedLogUserDAO.class);
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    static final long DEFAULT_SNAPSHOT_AFTER_BYTES = 256L << 20;
+    private static final long SNAPSHOT_CHECK_SECONDS = 10;
+    private static final int RECORD_PREFIX = 5;
+    private static final byte BEGIN = 1;
+    private static final byte END = 2;
+
+    private final Path directory;
+    private final InMemoryUserDAO state = new InMemoryUserDAO();
+    private final UserLog log;
+    private final long snapshotAfterBytes;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Object snapshotLock = new Object();
+    private final ScheduledExecutorService compactor;
+    private long sequence;
+    private long bytesSinceSnapshot;
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    // Guarded by writeLock: the record being filled by append()/appendDeletes().
+    private int recordCount;
+    private boolean firstRecord;
+    // Bodies of a batch whose END record has not been replayed yet.
+    private final List<ByteBuffer> replayPending = new ArrayList<>();
+
+    public MappedLogUserDAO(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SNAPSHOT_AFTER_BYTES, false);
+    }
+
+    // snapshotAfterBytes <= 0 disables background snapshots; snapshot() can still be called directly.
+    public MappedLogUserDAO(Path directory, int segmentSize, long snapshotAfterBytes, boolean forceOnWrite) {
+        this.directory = directory;
+        this.log = new UserLog(directory, segmentSize, forceOnWrite);
+        this.snapshotAfterBytes = snapshotAfterBytes;
+        try {
+            Files.createDirectories(directory);
+            UserSnapshots.Header snapshot = UserSnapshots.load(directory, state::restore);
+            long firstSegment = 0;
+            if (snapshot != null) {
+                firstSegment = snapshot.nextSegment;
+                sequence = snapshot.sequence;
+            }
+            log.open(firstSegment, this::replay);
+            logger.info("Recovered {} users from {}", state.size(), directory);
+        } catch (IOException e) {
+            logger.error("Error opening user log in {}", directory, e);
+            throw new RuntimeException("Error opening user log in " + directory, e);
+        }
+
+        if (snapshotAfterBytes > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "user-log-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(this::snapshotIfNeeded,
+                    SNAPSHOT_CHECK_SECONDS, SNAPSHOT_CHECK_SECONDS, TimeUnit.SECONDS);
+        } else {
+            compactor = null;
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        writeLock.lock();
+        try {
+            if (state.existsByEmail(user.getEmail())) {
+                logger.warn("Email already exists: {}", user.getEmail());
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
+            User stored = withId(sequence + 1, user);
+            append(List.of(stored), UserLog.SAVE);
+            sequence++;
+            state.restore(stored);
+            user.setId(stored.getId());
+            user.setCreatedAt(stored.getCreatedAt());
+            return user;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> pending = new ArrayList<>(users);
+        writeLock.lock();
+        try {
+            Set<String> emails = new HashSet<>();
+            List<User> stored = new ArrayList<>(pending.size());
+            for (User user : pending) {
+                if (!emails.add(user.getEmail()) || state.existsByEmail(user.getEmail())) {
+                    logger.warn("Email already exists: {}", user.getEmail());
+                    throw new EmailAlreadyExistsException(user.getEmail());
+                }
+                stored.add(withId(sequence + stored.size() + 1, user));
+            }
+            append(stored, UserLog.SAVE);
+            sequence += stored.size();
+            for (int i = 0; i < stored.size(); i++) {
+                state.restore(stored.get(i));
+                pending.get(i).setId(stored.get(i).getId());
+                pending.get(i).setCreatedAt(stored.get(i).getCreatedAt());
+            }
+            return pending;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return state.findById(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return state.findAll();
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        return state.findPage(afterId, limit);
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return state.streamAll(consumer);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        return state.findSummaryPage(afterId, limit);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return state.streamSummaries(consumer);
+    }
+
+    @Override
+    public User update(User user) {
+        if (user.getId() == null) {
+            throw new UserNotFoundException("User has no id: " + user.getEmail());
+        }
+        writeLock.lock();
+        try {
+            User existing = state.findById(user.getId()).orElseThrow(() -> new UserNotFoundException(user.getId()));
+            checkEmailOwner(user.getId(), user.getEmail());
+            User stored = new User(existing.getId(), user.getName(), user.getEmail(), user.getAge(),
+                    existing.getCreatedAt());
+            append(List.of(stored), UserLog.UPDATE);
+            state.update(stored);
+            user.setCreatedAt(existing.getCreatedAt());
+            return user;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        Map<Long, UserUpdate> updatesById = new LinkedHashMap<>();
+        for (UserUpdate update : updates) {
+            updatesById.put(update.getId(), update);
+        }
+        if (updatesById.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        writeLock.lock();
+        try {
+            Set<String> requestedEmails = new HashSet<>();
+            List<User> stored = new ArrayList<>(updatesById.size());
+            for (UserUpdate update : updatesById.values()) {
+                User existing = (update.getId() == null ? Optional.<User>empty() : state.findById(update.getId()))
+                        .orElseThrow(() -> new UserNotFoundException(update.getId()));
+                if (!requestedEmails.add(update.getEmail())) {
+                    throw new EmailAlreadyExistsException(update.getEmail());
+                }
+                // Users in the batch give up their current email, so they may swap or pass on emails.
+                Optional<User> owner = state.findByEmail(update.getEmail());
+                if (owner.isPresent() && !updatesById.containsKey(owner.get().getId())) {
+                    logger.warn("Email already exists: {}", update.getEmail());
+                    throw new EmailAlreadyExistsException(update.getEmail());
+                }
+                stored.add(new User(existing.getId(), update.getName(), update.getEmail(), update.getAge(),
+                        existing.getCreatedAt()));
+            }
+            append(stored, UserLog.UPDATE);
+            return state.updateAll(new ArrayList<>(updatesById.values()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        writeLock.lock();
+        try {
+            if (id == null || state.findById(id).isEmpty()) {
+                logger.warn("User not found: {}", id);
+                throw new UserNotFoundException("User not found: " + id);
+            }
+            appendDeletes(List.of(id));
+            state.delete(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        writeLock.lock();
+        try {
+            List<Long> existing = new ArrayList<>();
+            List<Long> notFound = new ArrayList<>();
+            for (Long id : new LinkedHashSet<>(ids)) {
+                if (id != null && state.findById(id).isPresent()) {
+                    existing.add(id);
+                } else {
+                    notFound.add(id);
+                }
+            }
+            if (!existing.isEmpty()) {
+                appendDeletes(existing);
+                state.deleteAll(existing);
+            }
+            return notFound;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return state.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return state.existsByEmail(email);
+    }
+
+    @Override
+    public long count() {
+        return state.count();
+    }
+
+    // Rolls the log, copies the state while writers wait (reads continue), then writes the snapshot and
+    // drops the segments it covers without holding the write lock.
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long nextSegment;
+            long snapshotSequence;
+            List<User> users;
+            writeLock.lock();
+            try {
+                nextSegment = log.roll();
+                snapshotSequence = sequence;
+                users = state.findAll();
+                bytesSinceSnapshot = 0;
+            } catch (IOException e) {
+                logger.error("Error rolling user log in {}", directory, e);
+                throw new RuntimeException("Error rolling user log in " + directory, e);
+            } finally {
+                writeLock.unlock();
+            }
+
+            try {
+                UserSnapshots.write(directory, nextSegment, snapshotSequence, users);
+                log.deleteBefore(nextSegment);
+                UserSnapshots.deleteBefore(directory, nextSegment);
+                logger.info("Wrote snapshot of {} users to {}", users.size(), directory);
+            } catch (IOException e) {
+                logger.error("Error writing user snapshot in {}", directory, e);
+                throw new RuntimeException("Error writing user snapshot in " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            log.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void snapshotIfNeeded() {
+        try {
+            if (bytesSinceSnapshot() >= snapshotAfterBytes) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Background snapshot failed", e);
+        }
+    }
+
+    private long bytesSinceSnapshot() {
+        writeLock.lock();
+        try {
+            return bytesSinceSnapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void checkEmailOwner(Long id, String email) {
+        Optional<User> owner = state.findByEmail(email);
+        if (owner.isPresent() && !owner.get().getId().equals(id)) {
+            logger.warn("Email already exists: {}", email);
+            throw new EmailAlreadyExistsException(email);
+        }
+    }
+
+    // Record body: int count | byte flags | count x (byte type | encoded user or long id). A batch that
+    // does not fit one record is split across several; the first carries BEGIN and the last END.
+    private void append(List<User> users, byte type) {
+        startRecords();
+        for (User user : users) {
+            byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+            reserve(1 + UserLog.userSize(name, email)).put(type);
+            UserLog.putUser(scratch, user.getId(), name, email, user.getAge(), user.getCreatedAt());
+        }
+        writeRecord(true);
+    }
+
+    private void appendDeletes(List<Long> ids) {
+        startRecords();
+        for (Long id : ids) {
+            reserve(9).put(UserLog.DELETE).putLong(id);
+        }
+        writeRecord(true);
+    }
+
+    private void startRecords() {
+        firstRecord = true;
+        startRecord();
+    }
+
+    private void startRecord() {
+        scratch.clear();
+        scratch.position(RECORD_PREFIX);
+        recordCount = 0;
+    }
+
+    // Makes room for one more operation, first writing out the current record if it would outgrow a segment.
+    private ByteBuffer reserve(int size) {
+        if (recordCount > 0 && scratch.position() + size > log.maxRecordSize()) {
+            writeRecord(false);
+            startRecord();
+        }
+        if (scratch.remaining() < size) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(scratch.position() + size, scratch.capacity() * 2));
+            scratch.flip();
+            scratch = grown.put(scratch);
+        }
+        recordCount++;
+        return scratch;
+    }
+
+    private void writeRecord(boolean last) {
+        scratch.putInt(0, recordCount);
+        scratch.put(4, (byte) ((firstRecord ? BEGIN : 0) | (last ? END : 0)));
+        firstRecord = false;
+        write(scratch);
+    }
+
+    private void write(ByteBuffer body) {
+        body.flip();
+        int length = body.remaining();
+        try {
+            log.append(body);
+            bytesSinceSnapshot += length;
+        } catch (IOException e) {
+            logger.error("Error appending to user log in {}", directory, e);
+            throw new RuntimeException("Error appending to user log in " + directory, e);
+        }
+    }
+
+    // A BEGIN drops whatever a crash left of an earlier batch; its END never made it into the log.
+    private void replay(ByteBuffer body) {
+        int count = body.getInt();
+        byte flags = body.get();
+        if ((flags & BEGIN) != 0) {
+            replayPending.clear();
+        }
+        if ((flags & END) == 0) {
+            ByteBuffer copy = ByteBuffer.allocate(4 + body.remaining());
+            copy.putInt(count).put(body).flip();
+            replayPending.add(copy);
+            return;
+        }
+        List<UserUpdate> updates = new ArrayList<>();
+        for (ByteBuffer pending : replayPending) {
+            apply(pending, pending.getInt(), updates);
+        }
+        replayPending.clear();
+        apply(body, count, updates);
+        applyUpdates(updates);
+    }
+
+    // Updates are collected and applied together, as updateAll checked them, so swapped emails replay.
+    private void apply(ByteBuffer body, int count, List<UserUpdate> updates) {
+        for (int i = 0; i < count; i++) {
+            byte type = body.get();
+            if (type != UserLog.UPDATE) {
+                applyUpdates(updates);
+            }
+            if (type == UserLog.DELETE) {
+                state.deleteAll(List.of(body.getLong()));
+                continue;
+            }
+            User user = UserLog.getUser(body);
+            if (type == UserLog.SAVE) {
+                state.restore(user);
+                sequence = Math.max(sequence, user.getId());
+            } else {
+                updates.add(new UserUpdate(user.getId(), user.getName(), user.getEmail(), user.getAge()));
+            }
+        }
+    }
+
+    private void applyUpdates(List<UserUpdate> updates) {
+        if (!updates.isEmpty()) {
+            state.updateAll(updates);
+            updates.clear();
+        }
+    }
+
+    private static User withId(long id, User user) {
+        LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+        return new User(id, user.getName(), user.getEmail(), user.getAge(), createdAt);
+    }
+}
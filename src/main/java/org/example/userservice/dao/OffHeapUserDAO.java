@@ -0,0 +1,409 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// UserDAO whose users live in OffHeapUserStore: a few dozen bytes of direct memory per user and no heap
+// entities between calls, so tens of millions of users add nothing to GC marking work. Users are
+// materialized only on read. Readers share a read lock; writers are serialized.
+public class OffHeapUserDAO implements UserDAO {
+
+    private static final Logger logger = LogManager.getLogger(OffHeapUserDAO.class);
+
+    static final int DEFAULT_EXPECTED_USERS = 1 << 20;
+    // Rewrite the record chunks once abandoned bytes exceed this share of the record area (and at least a chunk).
+    static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+    private static final int SCAN_BATCH_SIZE = 1024;
+
+    private final OffHeapUserStore store;
+    private final double compactionThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long sequence;
+
+    public OffHeapUserDAO() {
+        this(OffHeapUserStore.DEFAULT_CHUNK_SIZE, DEFAULT_EXPECTED_USERS, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public OffHeapUserDAO(int chunkSize, int expectedUsers, double compactionThreshold) {
+        this.store = new OffHeapUserStore(chunkSize, expectedUsers);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public User save(User user) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (store.addressOfEmail(user.getEmail()) != OffHeapUserStore.NO_ADDRESS) {
+                logger.warn("Email already exists: {}", user.getEmail());
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
+            insert(user);
+            return user;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> pending = new ArrayList<>(users);
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Set<String> emails = new HashSet<>();
+            for (User user : pending) {
+                if (!emails.add(user.getEmail())
+                        || store.addressOfEmail(user.getEmail()) != OffHeapUserStore.NO_ADDRESS) {
+                    logger.warn("Email already exists: {}", user.getEmail());
+                    throw new EmailAlreadyExistsException(user.getEmail());
+                }
+            }
+            for (User user : pending) {
+                insert(user);
+            }
+            return pending;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            long address = store.addressOf(id);
+            return address == OffHeapUserStore.NO_ADDRESS ? Optional.empty() : Optional.of(store.read(address));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>();
+        streamAll(users::add);
+        return users;
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        List<User> users = new ArrayList<>(Math.min(limit, 1024));
+        Long nextCursor = page(afterId, limit, address -> users.add(store.read(address)));
+        return new Page<>(users, nextCursor);
+    }
+
+    // Materializes under the read lock but hands users to the consumer in batches outside it, so a slow
+    // consumer never blocks writers for the length of the scan.
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        return scan(store::read, consumer);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        List<UserSummary> users = new ArrayList<>(Math.min(limit, 1024));
+        Long nextCursor = page(afterId, limit, address -> users.add(store.readSummary(address)));
+        return new Page<>(users, nextCursor);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        return scan(store::readSummary, consumer);
+    }
+
+    @Override
+    public User update(User user) {
+        Long id = user.getId();
+        if (id == null) {
+            throw new UserNotFoundException("User has no id: " + user.getEmail());
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            long address = store.addressOf(id);
+            if (address == OffHeapUserStore.NO_ADDRESS) {
+                throw new UserNotFoundException(id);
+            }
+            long owner = store.addressOfEmail(user.getEmail());
+            if (owner != OffHeapUserStore.NO_ADDRESS && owner != address) {
+                logger.warn("Email already exists: {}", user.getEmail());
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
+            store.update(address, user.getName(), user.getEmail(), user.getAge());
+            compactIfNeeded();
+            return user;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        Map<Long, UserUpdate> updatesById = new LinkedHashMap<>();
+        for (UserUpdate update : updates) {
+            updatesById.put(update.getId(), update);
+        }
+        if (updatesById.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Set<String> requestedEmails = new HashSet<>();
+            for (UserUpdate update : updatesById.values()) {
+                long address = update.getId() == null ? OffHeapUserStore.NO_ADDRESS : store.addressOf(update.getId());
+                if (address == OffHeapUserStore.NO_ADDRESS) {
+                    logger.warn("User not found: {}", update.getId());
+                    throw new UserNotFoundException(update.getId());
+                }
+                // Users in the batch give up their current email, so they may swap or pass on emails.
+                long owner = store.addressOfEmail(update.getEmail());
+                if (!requestedEmails.add(update.getEmail()) || (owner != OffHeapUserStore.NO_ADDRESS
+                        && owner != address && !updatesById.containsKey(store.idAt(owner)))) {
+                    logger.warn("Email already exists during update: {}", update.getEmail());
+                    throw new EmailAlreadyExistsException(update.getEmail());
+                }
+            }
+
+            List<User> updated = new ArrayList<>(updatesById.size());
+            for (UserUpdate update : updatesById.values()) {
+                store.update(store.addressOf(update.getId()), update.getName(), update.getEmail(), update.getAge());
+                updated.add(store.read(store.addressOf(update.getId())));
+            }
+            compactIfNeeded();
+            return updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (!remove(id)) {
+                logger.warn("User not found: {}", id);
+                throw new UserNotFoundException("User not found: " + id);
+            }
+            compactIfNeeded();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> notFound = new ArrayList<>();
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                if (!remove(id)) {
+                    notFound.add(id);
+                }
+            }
+            compactIfNeeded();
+            return notFound;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            long address = store.addressOfEmail(email);
+            return address == OffHeapUserStore.NO_ADDRESS ? Optional.empty() : Optional.of(store.read(address));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return store.addressOfEmail(email) != OffHeapUserStore.NO_ADDRESS;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return size();
+    }
+
+    public long size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return store.getLiveRecords();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // Direct memory held for records and indexes, for comparing against the raw data size.
+    public long getReservedBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return store.getReservedBytes();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    long getRecordBytes() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return store.getRecordBytes();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public void compact() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            store.compact(sequence);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void insert(User user) {
+        LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+        long id = ++sequence;
+        store.insert(id, user.getName(), user.getEmail(), user.getAge(), createdAt);
+        user.setId(id);
+        user.setCreatedAt(createdAt);
+    }
+
+    private boolean remove(Long id) {
+        long address = id == null ? OffHeapUserStore.NO_ADDRESS : store.addressOf(id);
+        if (address == OffHeapUserStore.NO_ADDRESS) {
+            return false;
+        }
+        store.remove(address);
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        long recordBytes = store.getRecordBytes();
+        long abandoned = recordBytes - store.getLiveBytes();
+        if (abandoned >= store.getChunkSize() && abandoned > recordBytes * compactionThreshold) {
+            logger.info("Compacting off-heap user store: {} of {} record bytes are live", store.getLiveBytes(), recordBytes);
+            store.compact(sequence);
+        }
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+    }
+
+    private Long page(Long afterId, int limit, AddressConsumer consumer) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            // Checked before afterId + 1, which would wrap for Long.MAX_VALUE and walk the whole long range.
+            if (afterId != null && afterId >= sequence) {
+                return null;
+            }
+            int found = 0;
+            long previous = 0;
+            for (long id = afterId == null || afterId < 1 ? 1 : afterId + 1; id <= sequence; id++) {
+                long address = store.addressOf(id);
+                if (address == OffHeapUserStore.NO_ADDRESS) {
+                    continue;
+                }
+                if (found == limit) {
+                    return previous;
+                }
+                consumer.accept(address);
+                previous = id;
+                found++;
+            }
+            return null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> long scan(AddressReader<T> reader, Consumer<T> consumer) {
+        List<T> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        long count = 0;
+        long nextId = 1;
+        while (true) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                while (nextId <= sequence && batch.size() < SCAN_BATCH_SIZE) {
+                    long address = store.addressOf(nextId++);
+                    if (address != OffHeapUserStore.NO_ADDRESS) {
+                        batch.add(reader.read(address));
+                    }
+                }
+            } finally {
+                readLock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return count;
+            }
+            batch.forEach(consumer);
+            count += batch.size();
+            batch.clear();
+        }
+    }
+
+    @FunctionalInterface
+    private interface AddressConsumer {
+        void accept(long address);
+    }
+
+    @FunctionalInterface
+    private interface AddressReader<T> {
+        T read(long address);
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Binary user records in direct ByteBuffers plus two off-heap indexes; the only heap objects per user are
+// the ones materialized on read. Not thread-safe: OffHeapUserDAO serializes writers and shares readers.
+//
+// Record layout (big-endian, absolute offsets only so concurrent readers never touch buffer position):
+//   int capacity | long id | int age (NULL_AGE = null) | long createdAt seconds | int createdAt nanos
+//   | short nameLength | name UTF-8 | short emailLength | email UTF-8
+// A record address is (chunk << 32 | offset); NO_ADDRESS (0) is never a valid offset because every chunk
+// starts at CHUNK_HEADER.
+final class OffHeapUserStore {
+
+    static final long NO_ADDRESS = 0L;
+    static final int DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    private static final int CHUNK_HEADER = 8;
+    private static final int NULL_AGE = Integer.MIN_VALUE;
+    private static final long NULL_CREATED_AT = Long.MIN_VALUE;
+    private static final int CAPACITY = 0;
+    private static final int ID = 4;
+    private static final int AGE = 12;
+    private static final int CREATED_SECONDS = 16;
+    private static final int CREATED_NANOS = 24;
+    private static final int NAME = 28;
+    private static final int FIXED_SIZE = NAME + 2 + 2;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int writeOffset;
+    private final IdIndex ids = new IdIndex();
+    private EmailIndex emails;
+    private long liveRecords;
+    private long liveBytes;
+
+    OffHeapUserStore(int chunkSize, int expectedUsers) {
+        if (chunkSize < 1024) {
+            throw new IllegalArgumentException("chunkSize must be at least 1024 bytes");
+        }
+        this.chunkSize = chunkSize;
+        this.emails = new EmailIndex(expectedUsers);
+        addChunk();
+    }
+
+    long insert(long id, String name, String email, Integer age, LocalDateTime createdAt) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        int size = recordSize(nameBytes, emailBytes);
+        long address = allocate(size);
+        write(address, size, id, nameBytes, emailBytes, age, createdAt);
+        ids.set(id, address);
+        emails.insert(hash(emailBytes), address);
+        liveRecords++;
+        liveBytes += size;
+        return address;
+    }
+
+    // Rewrites in place when the new encoding fits the old slot, otherwise appends and abandons the old one.
+    void update(long address, String name, String email, Integer age) {
+        long id = idAt(address);
+        byte[] oldEmail = emailBytes(address);
+        LocalDateTime createdAt = createdAtAt(address);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        int size = recordSize(nameBytes, emailBytes);
+        int capacity = chunk(address).getInt(offset(address) + CAPACITY);
+
+        emails.remove(hash(oldEmail), address);
+        long target = address;
+        if (size <= capacity) {
+            write(address, capacity, id, nameBytes, emailBytes, age, createdAt);
+        } else {
+            target = allocate(size);
+            write(target, size, id, nameBytes, emailBytes, age, createdAt);
+            ids.set(id, target);
+            liveBytes += size - capacity;
+        }
+        emails.insert(hash(emailBytes), target);
+    }
+
+    void remove(long address) {
+        long id = idAt(address);
+        emails.remove(hash(emailBytes(address)), address);
+        ids.set(id, NO_ADDRESS);
+        liveRecords--;
+        liveBytes -= chunk(address).getInt(offset(address) + CAPACITY);
+    }
+
+    long addressOf(long id) {
+        return ids.get(id);
+    }
+
+    long addressOfEmail(String email) {
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        return emails.find(hash(emailBytes), emailBytes);
+    }
+
+    User read(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int nameLength = chunk.getShort(offset + NAME);
+        int emailOffset = offset + NAME + 2 + nameLength;
+        return new User(chunk.getLong(offset + ID),
+                string(chunk, offset + NAME + 2, nameLength),
+                string(chunk, emailOffset + 2, chunk.getShort(emailOffset)),
+                age(chunk.getInt(offset + AGE)),
+                createdAtAt(address));
+    }
+
+    UserSummary readSummary(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int nameLength = chunk.getShort(offset + NAME);
+        int emailOffset = offset + NAME + 2 + nameLength;
+        return new UserSummary(chunk.getLong(offset + ID),
+                string(chunk, offset + NAME + 2, nameLength),
+                string(chunk, emailOffset + 2, chunk.getShort(emailOffset)));
+    }
+
+    long idAt(long address) {
+        return chunk(address).getLong(offset(address) + ID);
+    }
+
+    String emailAt(long address) {
+        return new String(emailBytes(address), StandardCharsets.UTF_8);
+    }
+
+    // Copies every live record, in id order, into fresh chunks and rebuilds the email index; the old chunks
+    // are released once the GC collects their buffers.
+    void compact(long maxId) {
+        List<ByteBuffer> oldChunks = new ArrayList<>(chunks);
+        chunks.clear();
+        addChunk();
+        EmailIndex rebuilt = new EmailIndex((int) Math.min(Integer.MAX_VALUE, Math.max(16, liveRecords)));
+        long bytes = 0;
+        for (long id = 1; id <= maxId; id++) {
+            long address = ids.get(id);
+            if (address == NO_ADDRESS) {
+                continue;
+            }
+            ByteBuffer from = oldChunks.get((int) (address >>> 32));
+            int fromOffset = (int) address;
+            int nameLength = from.getShort(fromOffset + NAME);
+            int emailLength = from.getShort(fromOffset + NAME + 2 + nameLength);
+            int size = FIXED_SIZE + nameLength + emailLength;
+
+            long target = allocate(size);
+            ByteBuffer to = chunk(target);
+            int toOffset = offset(target);
+            to.put(toOffset, from, fromOffset, size);
+            to.putInt(toOffset + CAPACITY, size);
+            ids.set(id, target);
+            rebuilt.insert(hash(emailBytes(target)), target);
+            bytes += size;
+        }
+        emails = rebuilt;
+        liveBytes = bytes;
+    }
+
+    long getLiveRecords() {
+        return liveRecords;
+    }
+
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    // Bytes reserved off-heap for records and both indexes.
+    long getReservedBytes() {
+        return (long) chunks.size() * chunkSize + ids.reservedBytes() + emails.reservedBytes();
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    long getRecordBytes() {
+        return (long) (chunks.size() - 1) * chunkSize + writeOffset;
+    }
+
+    private long allocate(int size) {
+        if (size > chunkSize - CHUNK_HEADER) {
+            throw new IllegalArgumentException("Record of " + size + " bytes does not fit a " + chunkSize + " byte chunk");
+        }
+        if (writeOffset + size > chunkSize) {
+            addChunk();
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | writeOffset;
+        writeOffset += size;
+        return address;
+    }
+
+    private void addChunk() {
+        chunks.add(ByteBuffer.allocateDirect(chunkSize));
+        writeOffset = CHUNK_HEADER;
+    }
+
+    private void write(long address, int capacity, long id, byte[] name, byte[] email, Integer age,
+                       LocalDateTime createdAt) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        chunk.putInt(offset + CAPACITY, capacity);
+        chunk.putLong(offset + ID, id);
+        chunk.putInt(offset + AGE, age == null ? NULL_AGE : age);
+        if (createdAt == null) {
+            chunk.putLong(offset + CREATED_SECONDS, NULL_CREATED_AT);
+            chunk.putInt(offset + CREATED_NANOS, 0);
+        } else {
+            chunk.putLong(offset + CREATED_SECONDS, createdAt.toEpochSecond(ZoneOffset.UTC));
+            chunk.putInt(offset + CREATED_NANOS, createdAt.getNano());
+        }
+        chunk.putShort(offset + NAME, (short) name.length);
+        chunk.put(offset + NAME + 2, name);
+        int emailOffset = offset + NAME + 2 + name.length;
+        chunk.putShort(emailOffset, (short) email.length);
+        chunk.put(emailOffset + 2, email);
+    }
+
+    private LocalDateTime createdAtAt(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        long seconds = chunk.getLong(offset + CREATED_SECONDS);
+        return seconds == NULL_CREATED_AT ? null
+                : LocalDateTime.ofEpochSecond(seconds, chunk.getInt(offset + CREATED_NANOS), ZoneOffset.UTC);
+    }
+
+    private byte[] emailBytes(long address) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int emailOffset = offset + NAME + 2 + chunk.getShort(offset + NAME);
+        byte[] bytes = new byte[chunk.getShort(emailOffset)];
+        chunk.get(emailOffset + 2, bytes);
+        return bytes;
+    }
+
+    private boolean emailEquals(long address, byte[] email) {
+        ByteBuffer chunk = chunk(address);
+        int offset = offset(address);
+        int emailOffset = offset + NAME + 2 + chunk.getShort(offset + NAME);
+        if (chunk.getShort(emailOffset) != email.length) {
+            return false;
+        }
+        for (int i = 0; i < email.length; i++) {
+            if (chunk.get(emailOffset + 2 + i) != email[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static int recordSize(byte[] name, byte[] email) {
+        if (name.length > Short.MAX_VALUE || email.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Name or email too long for the record layout");
+        }
+        return FIXED_SIZE + name.length + email.length;
+    }
+
+    private static Integer age(int stored) {
+        return stored == NULL_AGE ? null : stored;
+    }
+
+    private static String string(ByteBuffer chunk, int offset, int length) {
+        byte[] bytes = new byte[length];
+        chunk.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 fmix64 step. Never returns 0,
+    // which marks an empty index slot.
+    private static long hash(byte[] bytes) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC3L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    // Ids come from a dense sequence, so the id index is a direct-addressed table of record addresses in
+    // fixed-size off-heap pages rather than a hash table: one 8-byte slot per id, no probing.
+    private static final class IdIndex {
+        private static final int PAGE_BITS = 16;
+        private static final int PAGE_SLOTS = 1 << PAGE_BITS;
+
+        private ByteBuffer[] pages = new ByteBuffer[16];
+
+        long get(long id) {
+            int page = (int) (id >>> PAGE_BITS);
+            if (id <= 0 || page >= pages.length || pages[page] == null) {
+                return NO_ADDRESS;
+            }
+            return pages[page].getLong((int) (id & (PAGE_SLOTS - 1)) << 3);
+        }
+
+        void set(long id, long address) {
+            int page = (int) (id >>> PAGE_BITS);
+            if (page >= pages.length) {
+                pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+            }
+            if (pages[page] == null) {
+                pages[page] = ByteBuffer.allocateDirect(PAGE_SLOTS << 3);
+            }
+            pages[page].putLong((int) (id & (PAGE_SLOTS - 1)) << 3, address);
+        }
+
+        long reservedBytes() {
+            long bytes = 0;
+            for (ByteBuffer page : pages) {
+                if (page != null) {
+                    bytes += page.capacity();
+                }
+            }
+            return bytes;
+        }
+    }
+
+    // Open-addressing table of (email hash, record address) pairs with linear probing and backward-shift
+    // deletion. Equal hashes are told apart by comparing the email bytes stored in the record.
+    private final class EmailIndex {
+        private static final int SLOT = 16;
+        private static final double LOAD_FACTOR = 0.7;
+        // slots * SLOT has to stay addressable by an int ByteBuffer index.
+        private static final int MAX_SLOTS = 1 << 26;
+
+        private ByteBuffer table;
+        private int mask;
+        private int size;
+
+        EmailIndex(int expected) {
+            long wanted = Math.max(16, (long) Math.ceil(expected / LOAD_FACTOR));
+            int slots = 16;
+            while (slots < wanted && slots < MAX_SLOTS) {
+                slots <<= 1;
+            }
+            this.table = ByteBuffer.allocateDirect(slots * SLOT);
+            this.mask = slots - 1;
+        }
+
+        long find(long hash, byte[] email) {
+            int slot = (int) hash & mask;
+            while (true) {
+                long stored = table.getLong(slot * SLOT);
+                if (stored == 0) {
+                    return NO_ADDRESS;
+                }
+                long address = table.getLong(slot * SLOT + 8);
+                if (stored == hash && emailEquals(address, email)) {
+                    return address;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        void insert(long hash, long address) {
+            if (size + 1 > (mask + 1) * LOAD_FACTOR) {
+                grow();
+            }
+            int slot = (int) hash & mask;
+            while (table.getLong(slot * SLOT) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table.putLong(slot * SLOT, hash);
+            table.putLong(slot * SLOT + 8, address);
+            size++;
+        }
+
+        void remove(long hash, long address) {
+            int slot = (int) hash & mask;
+            while (true) {
+                long stored = table.getLong(slot * SLOT);
+                if (stored == 0) {
+                    return;
+                }
+                if (stored == hash && table.getLong(slot * SLOT + 8) == address) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (table.getLong(next * SLOT) != 0) {
+                int home = (int) table.getLong(next * SLOT) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    table.putLong(hole * SLOT, table.getLong(next * SLOT));
+                    table.putLong(hole * SLOT + 8, table.getLong(next * SLOT + 8));
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            table.putLong(hole * SLOT, 0);
+            table.putLong(hole * SLOT + 8, 0);
+            size--;
+        }
+
+        long reservedBytes() {
+            return table.capacity();
+        }
+
+        private void grow() {
+            if (mask + 1 >= MAX_SLOTS) {
+                throw new IllegalStateException("Email index is full at " + size + " entries");
+            }
+            ByteBuffer old = table;
+            int oldSlots = mask + 1;
+            table = ByteBuffer.allocateDirect(oldSlots * 2 * SLOT);
+            mask = oldSlots * 2 - 1;
+            size = 0;
+            for (int slot = 0; slot < oldSlots; slot++) {
+                long hash = old.getLong(slot * SLOT);
+                if (hash != 0) {
+                    insert(hash, old.getLong(slot * SLOT + 8));
+                }
+            }
+        }
+    }
+}
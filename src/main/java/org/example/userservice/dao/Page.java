@@ -0,0 +1,38 @@
+package org.example.userservice.dao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// One keyset page: the items and, when more follow, the id to pass as the next afterId.
+public class Page<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public Page(List<T> items, Long nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    // Builds a page from a query that fetched up to limit + 1 rows; the extra row only signals that more follow.
+    static <T> Page<T> fromOverfetch(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, id.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
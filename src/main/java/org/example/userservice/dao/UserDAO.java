@@ -2,22 +2,40 @@ package org.example.userservice.dao;
 
 import org.example.userservice.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserDAO {
 
     User save(User user);
 
+    List<User> saveAll(Collection<User> users);
+
     Optional<User> findById(Long id);
 
     List<User> findAll();
 
+    Page<User> findPage(Long afterId, int limit);
+
+    long streamAll(Consumer<User> consumer);
+
+    Page<UserSummary> findSummaryPage(Long afterId, int limit);
+
+    long streamSummaries(Consumer<UserSummary> consumer);
+
     User update(User user);
 
+    List<User> updateAll(List<UserUpdate> updates);
+
     void delete(Long id);
 
+    List<Long> deleteAll(Collection<Long> ids);
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    long count();
 }
\ No newline at end of file
@@ -1,41 +1,155 @@
 package org.example.userservice.dao;
 
 import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
 import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.metrics.MetricsRegistry;
 import org.example.userservice.util.HibernateUtil;
+import org.example.userservice.util.ReplicaRouter;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.Query;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.LongStream;
 
 public class UserDAOImpl implements UserDAO {
 
     private static final Logger logger = LogManager.getLogger(UserDAOImpl.class);
+    static final int DEFAULT_BATCH_SIZE = 50;
+    static final int STREAM_FETCH_SIZE = 500;
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    private static final String MOVING_EMAIL_PREFIX = "moving-email#";
+    static final String SESSION_OPEN = "dao.session.open";
+    static final String TRANSACTION_BEGIN = "dao.transaction.begin";
+    static final String TRANSACTION_COMMIT = "dao.transaction.commit";
+    private static final String SUMMARY_QUERY =
+            "SELECT new org.example.userservice.dao.UserSummary(u.id, u.name, u.email) FROM User u";
+
+    static final String REPLICA_READ = "dao.replica.read";
+
     private final SessionFactory sessionFactory;
+    private final ReplicaRouter replicas;
+    private final int batchSize;
+    private final MetricsRegistry metrics;
 
     public UserDAOImpl() {
-        this.sessionFactory = HibernateUtil.getSessionFactory();
+        this(HibernateUtil.getSessionFactory(), HibernateUtil.getReplicaRouter());
     }
 
     public UserDAOImpl(SessionFactory sessionFactory) {
+        this(sessionFactory, DEFAULT_BATCH_SIZE);
+    }
+
+    public UserDAOImpl(SessionFactory sessionFactory, int batchSize) {
+        this(sessionFactory, batchSize, MetricsRegistry.global());
+    }
+
+    public UserDAOImpl(SessionFactory sessionFactory, int batchSize, MetricsRegistry metrics) {
+        this(sessionFactory, null, batchSize, metrics);
+    }
+
+    // replicas may be null; findById, findAll, findByEmail and existsByEmail then read from the primary too.
+    public UserDAOImpl(SessionFactory sessionFactory, ReplicaRouter replicas) {
+        this(sessionFactory, replicas, DEFAULT_BATCH_SIZE, MetricsRegistry.global());
+    }
+
+    public UserDAOImpl(SessionFactory sessionFactory, ReplicaRouter replicas, int batchSize, MetricsRegistry metrics) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
         this.sessionFactory = sessionFactory;
+        this.replicas = replicas;
+        this.batchSize = batchSize;
+        this.metrics = metrics;
+    }
+
+    // Session phases are timed apart from the DAO calls themselves: beginning a transaction is where
+    // a pooled connection is acquired, and commit is where the flushed SQL is made durable.
+    private Session openSession() {
+        return metrics.time(SESSION_OPEN, sessionFactory::openSession);
+    }
+
+    private StatelessSession openStatelessSession() {
+        return metrics.time(SESSION_OPEN, sessionFactory::openStatelessSession);
+    }
+
+    private Transaction begin(SharedSessionContract session) {
+        return metrics.time(TRANSACTION_BEGIN, session::beginTransaction);
+    }
+
+    private void commit(Transaction transaction) {
+        metrics.run(TRANSACTION_COMMIT, transaction::commit);
+    }
+
+    // Runs a lookup on the replica the router picks for key, falling back to the primary when there is
+    // none or it fails. A replica answer naming a user this node just wrote is re-read from the primary.
+    // Replicas have no second-level cache, so a lookup the primary's cache can answer stays on the primary.
+    private <T> T read(Object key, Predicate<Session> cachedOnPrimary, Function<Session, T> lookup,
+                       Function<T, Long> resultId) {
+        try (Session primary = openSession()) {
+            ReplicaRouter.Replica replica = replicas != null && !cachedOnPrimary.test(primary)
+                    ? replicas.select(key) : null;
+            if (replica != null) {
+                long start = System.nanoTime();
+                try (Session session = metrics.time(SESSION_OPEN, replica.getSessionFactory()::openSession)) {
+                    session.setDefaultReadOnly(true);
+                    T result = metrics.time(REPLICA_READ, () -> lookup.apply(session));
+                    replica.recordLatency(System.nanoTime() - start);
+                    Long id = result != null ? resultId.apply(result) : null;
+                    if (id == null || !replicas.isSticky(id)) {
+                        return result;
+                    }
+                } catch (RuntimeException e) {
+                    replica.recordFailure();
+                    logger.warn("Replica read failed, retrying on primary", e);
+                }
+            }
+            return lookup.apply(primary);
+        }
+    }
+
+    private void wrote(Object... keys) {
+        if (replicas != null) {
+            replicas.wrote(keys);
+        }
     }
 
     @Override
     public User save(User user) {
         Transaction transaction = null;
-        try (Session session = sessionFactory.openSession()) {
-            transaction = session.beginTransaction();
+        try (Session session = openSession()) {
+            transaction = begin(session);
             logger.debug("Saving user: {}", user.getEmail());
 
             session.persist(user);
-            transaction.commit();
+            commit(transaction);
+            wrote(user.getId(), user.getEmail());
 
             logger.info("User saved successfully with id: {}", user.getId());
             return user;
@@ -43,16 +157,72 @@ public class UserDAOImpl implements UserDAO {
             if (transaction != null) {
                 transaction.rollback();
             }
+            if (isEmailConstraintViolation(e)) {
+                logger.warn("Email already exists: {}", user.getEmail());
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
             logger.error("Error saving user: {}", user.getEmail(), e);
             throw new RuntimeException("Error saving user: " + user.getEmail(), e);
         }
     }
 
+    // One transaction for the whole collection, flushed and cleared every batchSize users, so either
+    // every user is saved or none is.
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<User> pending = new ArrayList<>(users);
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        logger.debug("Saving {} users in chunks of {}", pending.size(), batchSize);
+
+        try (Session session = openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = begin(session);
+            try {
+                for (int from = 0; from < pending.size(); from += batchSize) {
+                    for (User user : pending.subList(from, Math.min(from + batchSize, pending.size()))) {
+                        session.persist(user);
+                    }
+                    session.flush();
+                    session.clear();
+                }
+                commit(transaction);
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            // Nothing was saved; clear the rolled-back ids so callers do not mistake them for saved rows.
+            pending.forEach(user -> user.setId(null));
+            List<String> emails = new ArrayList<>(pending.size());
+            pending.forEach(user -> emails.add(user.getEmail()));
+            if (isEmailConstraintViolation(e)) {
+                EmailAlreadyExistsException taken = emailAlreadyExists(e, emails);
+                logger.warn("Batch save rejected: {}", taken.getMessage());
+                throw taken;
+            }
+            logger.error("Error saving batch of {} users", pending.size(), e);
+            throw new RuntimeException("Error saving batch of " + pending.size() + " users", e);
+        }
+
+        if (replicas != null) {
+            for (User user : pending) {
+                replicas.wrote(user.getId(), user.getEmail());
+            }
+        }
+        logger.info("Users saved successfully: {}", pending.size());
+        return pending;
+    }
+
     @Override
     public Optional<User> findById(Long id) {
-        try (Session session = sessionFactory.openSession()) {
+        try {
             logger.debug("Finding user by id: {}", id);
-            User user = session.get(User.class, id);
+            User user = read(id, session -> sessionFactory.getCache().containsEntity(User.class, id),
+                    session -> session.get(User.class, id), User::getId);
 
             if (user != null) {
                 logger.debug("User found: {}", user.getEmail());
@@ -68,10 +238,10 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public List<User> findAll() {
-        try (Session session = sessionFactory.openSession()) {
+        try {
             logger.debug("Finding all users");
-            Query<User> query = session.createQuery("FROM User", User.class);
-            List<User> users = query.list();
+            List<User> users = read(null, session -> false,
+                    session -> session.createQuery("FROM User", User.class).list(), found -> null);
 
             logger.debug("Users found: {}", users.size());
             return users;
@@ -81,15 +251,115 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        try (Session session = openSession()) {
+            logger.debug("Finding users page after id: {}, limit: {}", afterId, limit);
+            Query<User> query = session.createQuery("FROM User WHERE id > :afterId ORDER BY id", User.class);
+            query.setParameter("afterId", afterId == null ? 0L : afterId);
+            query.setMaxResults(limit + 1);
+            Page<User> page = Page.fromOverfetch(query.list(), limit, User::getId);
+
+            logger.debug("Users found on page: {}", page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error finding users page after id: {}", afterId, e);
+            throw new RuntimeException("Error finding users page after id: " + afterId, e);
+        }
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        Transaction transaction = null;
+        try (StatelessSession session = openStatelessSession()) {
+            // PostgreSQL only honours the fetch size inside a transaction; otherwise the driver buffers every row.
+            transaction = begin(session);
+            logger.debug("Streaming all users");
+
+            Query<User> query = session.createQuery("FROM User ORDER BY id", User.class);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+
+            long count = 0;
+            try (ScrollableResults<User> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept(results.get());
+                    count++;
+                }
+            }
+            commit(transaction);
+
+            logger.debug("Users streamed: {}", count);
+            return count;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error streaming users", e);
+            throw new RuntimeException("Error streaming users", e);
+        }
+    }
+
+    // Constructor projections are never managed: no snapshot copy, no dirty check, no second-level cache put.
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        checkPageSize(limit);
+        try (StatelessSession session = openStatelessSession()) {
+            logger.debug("Finding user summaries page after id: {}, limit: {}", afterId, limit);
+            Query<UserSummary> query = session.createQuery(SUMMARY_QUERY + " WHERE u.id > :afterId ORDER BY u.id",
+                    UserSummary.class);
+            query.setParameter("afterId", afterId == null ? 0L : afterId);
+            query.setMaxResults(limit + 1);
+            Page<UserSummary> page = Page.fromOverfetch(query.list(), limit, UserSummary::getId);
+
+            logger.debug("User summaries found on page: {}", page.getItems().size());
+            return page;
+        } catch (Exception e) {
+            logger.error("Error finding user summaries page after id: {}", afterId, e);
+            throw new RuntimeException("Error finding user summaries page after id: " + afterId, e);
+        }
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        Transaction transaction = null;
+        try (StatelessSession session = openStatelessSession()) {
+            transaction = begin(session);
+            logger.debug("Streaming user summaries");
+
+            Query<UserSummary> query = session.createQuery(SUMMARY_QUERY + " ORDER BY u.id", UserSummary.class);
+            query.setFetchSize(STREAM_FETCH_SIZE);
+
+            long count = 0;
+            try (ScrollableResults<UserSummary> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    consumer.accept(results.get());
+                    count++;
+                }
+            }
+            commit(transaction);
+
+            logger.debug("User summaries streamed: {}", count);
+            return count;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error streaming user summaries", e);
+            throw new RuntimeException("Error streaming user summaries", e);
+        }
+    }
+
     @Override
     public User update(User user) {
         Transaction transaction = null;
-        try (Session session = sessionFactory.openSession()) {
-            transaction = session.beginTransaction();
+        try (Session session = openSession()) {
+            transaction = begin(session);
             logger.debug("Updating user: {}", user.getEmail());
 
             session.merge(user);
-            transaction.commit();
+            commit(transaction);
+            wrote(user.getId(), user.getEmail());
 
             logger.info("User updated successfully with id: {}", user.getEmail());
             return user;
@@ -97,22 +367,163 @@ public class UserDAOImpl implements UserDAO {
             if (transaction != null) {
                 transaction.rollback();
             }
+            if (isEmailConstraintViolation(e)) {
+                logger.warn("Email already exists: {}", user.getEmail());
+                throw new EmailAlreadyExistsException(user.getEmail());
+            }
             logger.error("Error updating user: {}", user.getEmail(), e);
             throw new RuntimeException("Error updating user: " + user.getEmail(), e);
         }
     }
 
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        Map<Long, UserUpdate> updatesById = new LinkedHashMap<>();
+        for (UserUpdate update : updates) {
+            updatesById.put(update.getId(), update);
+        }
+        if (updatesById.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Transaction transaction = null;
+        try (Session session = openSession()) {
+            session.setJdbcBatchSize(batchSize);
+            transaction = begin(session);
+            logger.debug("Updating {} users", updatesById.size());
+
+            Map<Long, User> users = loadByIds(session, new ArrayList<>(updatesById.keySet()));
+            for (Long id : updatesById.keySet()) {
+                if (!users.containsKey(id)) {
+                    transaction.rollback();
+                    logger.warn("User not found: {}", id);
+                    throw new UserNotFoundException(id);
+                }
+            }
+            String takenEmail = findTakenEmail(session, updatesById);
+            if (takenEmail != null) {
+                transaction.rollback();
+                logger.warn("Email already exists during update: {}", takenEmail);
+                throw new EmailAlreadyExistsException(takenEmail);
+            }
+
+            List<Object> touched = new ArrayList<>(updatesById.size() * 3);
+            for (UserUpdate update : updatesById.values()) {
+                User user = users.get(update.getId());
+                touched.add(user.getId());
+                touched.add(user.getEmail());
+                touched.add(update.getEmail());
+            }
+            if (movesEmailWithinBatch(users, updatesById)) {
+                parkMovingEmails(session, users, updatesById);
+            }
+
+            List<User> updated = new ArrayList<>(updatesById.size());
+            for (UserUpdate update : updatesById.values()) {
+                User user = users.get(update.getId());
+                user.setName(update.getName());
+                user.setEmail(update.getEmail());
+                user.setAge(update.getAge());
+                updated.add(user);
+            }
+            commit(transaction);
+            wrote(touched.toArray());
+
+            logger.info("Users updated successfully: {}", updated.size());
+            return updated;
+        } catch (UserNotFoundException | EmailAlreadyExistsException e) {
+            throw e;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            // The pre-check can race a concurrent write, leaving the unique index to catch it at commit.
+            if (isEmailConstraintViolation(e)) {
+                List<String> emails = new ArrayList<>(updatesById.size());
+                updatesById.values().forEach(update -> emails.add(update.getEmail()));
+                EmailAlreadyExistsException taken = emailAlreadyExists(e, emails);
+                logger.warn("Batch update rejected: {}", taken.getMessage());
+                throw taken;
+            }
+            logger.error("Error updating {} users", updatesById.size(), e);
+            throw new RuntimeException("Error updating " + updatesById.size() + " users", e);
+        }
+    }
+
+    private Map<Long, User> loadByIds(Session session, List<Long> ids) {
+        Map<Long, User> users = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            Query<User> query = session.createQuery("FROM User WHERE id IN :ids", User.class);
+            query.setParameterList("ids", ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())));
+            for (User user : query.list()) {
+                users.put(user.getId(), user);
+            }
+        }
+        return users;
+    }
+
+    // Checks the emails against the state the batch asks for: no two updates may want the same email, and a
+    // requested email may only be held by a user outside the batch if that user is the one asking for it.
+    // Users in the batch give up their current email, so swaps and chains within one batch are allowed.
+    private String findTakenEmail(Session session, Map<Long, UserUpdate> updatesById) {
+        Map<String, Long> requestedOwners = new HashMap<>();
+        for (UserUpdate update : updatesById.values()) {
+            if (requestedOwners.put(update.getEmail(), update.getId()) != null) {
+                return update.getEmail();
+            }
+        }
+
+        List<String> emails = new ArrayList<>(requestedOwners.keySet());
+        for (int from = 0; from < emails.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            Query<Object[]> query = session.createQuery(
+                    "SELECT email, id FROM User WHERE email IN :emails", Object[].class);
+            query.setParameterList("emails", emails.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, emails.size())));
+            for (Object[] row : query.list()) {
+                if (!row[1].equals(requestedOwners.get((String) row[0])) && !updatesById.containsKey((Long) row[1])) {
+                    return (String) row[0];
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean movesEmailWithinBatch(Map<Long, User> users, Map<Long, UserUpdate> updatesById) {
+        Map<String, Long> currentOwners = new HashMap<>();
+        users.values().forEach(user -> currentOwners.put(user.getEmail(), user.getId()));
+        for (UserUpdate update : updatesById.values()) {
+            Long owner = currentOwners.get(update.getEmail());
+            if (owner != null && !owner.equals(update.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The unique index is checked row by row, so a swap cannot be written directly: the first UPDATE would
+    // collide with the row that still holds its new email. Moving every changed email to a placeholder
+    // first frees them all. Placeholders have no '@', so they can never match a real address.
+    private static void parkMovingEmails(Session session, Map<Long, User> users, Map<Long, UserUpdate> updatesById) {
+        for (UserUpdate update : updatesById.values()) {
+            User user = users.get(update.getId());
+            if (!user.getEmail().equals(update.getEmail())) {
+                user.setEmail(MOVING_EMAIL_PREFIX + user.getId());
+            }
+        }
+        session.flush();
+    }
+
     @Override
     public void delete(Long id) {
         Transaction transaction = null;
-        try (Session session = sessionFactory.openSession()) {
-            transaction = session.beginTransaction();
+        try (Session session = openSession()) {
+            transaction = begin(session);
             logger.debug("Deleting user: {}", id);
 
             User user = session.get(User.class, id);
             if (user != null) {
                 session.remove(user);
-                transaction.commit();
+                commit(transaction);
+                wrote(id, user.getEmail());
                 logger.info("User deleted successfully with id: {}", id);
             } else {
                 transaction.rollback();
@@ -130,14 +541,66 @@ public class UserDAOImpl implements UserDAO {
         }
     }
 
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        List<Long> pending = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> notFound = new ArrayList<>();
+        logger.debug("Deleting {} users in chunks of {}", pending.size(), IN_CLAUSE_CHUNK_SIZE);
+
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            notFound.addAll(deleteChunk(pending.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, pending.size()))));
+        }
+
+        logger.info("Users deleted: {}, not found: {}", pending.size() - notFound.size(), notFound.size());
+        return notFound;
+    }
+
+    private List<Long> deleteChunk(List<Long> chunk) {
+        Transaction transaction = null;
+        try (Session session = openSession()) {
+            transaction = begin(session);
+
+            Query<Object[]> existingQuery = session.createQuery("SELECT id, email FROM User WHERE id IN :ids",
+                    Object[].class);
+            existingQuery.setParameterList("ids", chunk);
+            Set<Long> existing = new HashSet<>();
+            List<Object> touched = new ArrayList<>();
+            for (Object[] row : existingQuery.list()) {
+                existing.add((Long) row[0]);
+                touched.add(row[0]);
+                touched.add(row[1]);
+            }
+
+            if (!existing.isEmpty()) {
+                session.createMutationQuery("DELETE FROM User WHERE id IN :ids")
+                        .setParameterList("ids", existing)
+                        .executeUpdate();
+            }
+            commit(transaction);
+            wrote(touched.toArray());
+
+            List<Long> notFound = new ArrayList<>();
+            for (Long id : chunk) {
+                if (!existing.contains(id)) {
+                    notFound.add(id);
+                }
+            }
+            return notFound;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error deleting batch of {} users", chunk.size(), e);
+            throw new RuntimeException("Error deleting batch of " + chunk.size() + " users", e);
+        }
+    }
+
     @Override
     public Optional<User> findByEmail(String email) {
-        try (Session session = sessionFactory.openSession()) {
+        try {
             logger.debug("Finding user by email: {}", email);
-            Query<User> query = session.createQuery("FROM User WHERE email = :email", User.class);
-            query.setParameter("email", email);
-
-            User user = query.uniqueResult();
+            User user = read(email, session -> isEmailCached(session, email),
+                    session -> session.bySimpleNaturalId(User.class).load(email), User::getId);
             return Optional.ofNullable(user);
         } catch (Exception e) {
             logger.error("Error finding user by email: {}", email, e);
@@ -147,16 +610,72 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public boolean existsByEmail(String email) {
-        try (Session session = sessionFactory.openSession()) {
+        try {
             logger.debug("Checking if email exists: {}", email);
-            Query<Long> query = session.createQuery("SELECT COUNT(*) FROM User WHERE email = :email", Long.class);
-            query.setParameter("email", email);
-
-            Long count = query.uniqueResult();
+            Long count = read(email, session -> false, session -> {
+                Query<Long> query = session.createQuery("SELECT COUNT(*) FROM User WHERE email = :email", Long.class);
+                query.setParameter("email", email);
+                return query.uniqueResult();
+            }, found -> null);
             return count != null && count > 0;
         } catch (Exception e) {
             logger.error("Error checking if email exists: {}", email, e);
             throw new RuntimeException("Error checking if email exists: " + email, e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public long count() {
+        try (Session session = openSession()) {
+            Long count = session.createQuery("SELECT COUNT(*) FROM User", Long.class).uniqueResult();
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            logger.error("Error counting users", e);
+            throw new RuntimeException("Error counting users", e);
+        }
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+    }
+
+    // PostgreSQL and H2 both quote the duplicate key in the message; without it, name every requested email.
+    private static EmailAlreadyExistsException emailAlreadyExists(Throwable e, List<String> emails) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message == null) {
+                continue;
+            }
+            for (String email : emails) {
+                if (message.contains("(" + email + ")") || message.contains("'" + email + "'")) {
+                    return new EmailAlreadyExistsException(email);
+                }
+            }
+        }
+        return EmailAlreadyExistsException.anyOf(emails);
+    }
+
+    private boolean isEmailCached(Session session, String email) {
+        EntityPersister persister = sessionFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(User.class);
+        NaturalIdDataAccess access = persister.getNaturalIdCacheAccessStrategy();
+        if (access == null) {
+            return false;
+        }
+        SharedSessionContractImplementor implementor = session.unwrap(SharedSessionContractImplementor.class);
+        Long id = (Long) access.get(implementor, access.generateCacheKey(email, persister, implementor));
+        return id != null && sessionFactory.getCache().containsEntity(User.class, id);
+    }
+
+    // email is the only unique column that callers control, ids come from the sequence
+    private static boolean isEmailConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return UNIQUE_VIOLATION_SQL_STATE.equals(((ConstraintViolationException) cause).getSQLState());
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Append-only operation log in fixed-size memory-mapped segments named users-<index>.log. Each record is
+//   int length | int CRC32C(body) | body
+// and the length is written last, so a record is only visible to replay once it is complete. A zero
+// length, a short tail or a checksum mismatch marks the end of the log. Not thread-safe: the caller
+// serializes append() and roll().
+final class UserLog implements AutoCloseable {
+
+    static final byte SAVE = 1;
+    static final byte UPDATE = 2;
+    static final byte DELETE = 3;
+
+    private static final String PREFIX = "users-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = 8;
+    private static final int NULL_AGE = Integer.MIN_VALUE;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int position;
+
+    UserLog(Path directory, int segmentSize, boolean forceOnAppend) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("segmentSize must be at least 4096 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    // Replays every record in segments numbered fromIndex and up, then positions appends after the last
+    // complete record, wiping any torn tail so it cannot be mistaken for data later.
+    void open(long fromIndex, Consumer<ByteBuffer> replay) throws IOException {
+        List<Long> indexes = segmentIndexes();
+        indexes.removeIf(index -> index < fromIndex);
+        if (indexes.isEmpty()) {
+            // Only a fresh log may have nothing to replay: a snapshot always rolls to fromIndex first.
+            if (fromIndex > 0) {
+                throw new IOException("Missing log segment " + segmentPath(fromIndex));
+            }
+            map(fromIndex);
+            return;
+        }
+        // Replaying past a missing segment would silently drop the operations it held.
+        for (int i = 0; i < indexes.size(); i++) {
+            if (indexes.get(i) != fromIndex + i) {
+                throw new IOException("Missing log segment " + segmentPath(fromIndex + i));
+            }
+        }
+
+        for (int i = 0; i < indexes.size(); i++) {
+            map(indexes.get(i));
+            int end = replaySegment(replay);
+            boolean last = i == indexes.size() - 1;
+            if (!last && end < segmentSize - HEADER && segment.getInt(end) != 0) {
+                throw new IOException("Corrupt record at offset " + end + " of " + segmentPath(indexes.get(i)));
+            }
+            position = end;
+        }
+        // A crash between writing a body and its length leaves bytes past the last complete record.
+        for (int offset = position; offset < segmentSize; offset++) {
+            if (segment.get(offset) != 0) {
+                segment.put(offset, (byte) 0);
+            }
+        }
+    }
+
+    // Largest body that fits one segment.
+    int maxRecordSize() {
+        return segmentSize - HEADER;
+    }
+
+    void append(ByteBuffer body) throws IOException {
+        int length = body.remaining();
+        if (HEADER + length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit a log segment");
+        }
+        if (position + HEADER + length > segmentSize) {
+            roll();
+        }
+
+        crc.reset();
+        crc.update(body.duplicate());
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.put(position + HEADER, body, body.position(), length);
+        segment.putInt(position, length);
+        if (forceOnAppend) {
+            segment.force(position, HEADER + length);
+        }
+        position += HEADER + length;
+    }
+
+    // Starts a new segment and returns its index; everything before it is complete and immutable.
+    long roll() throws IOException {
+        segment.force();
+        map(segmentIndex + 1);
+        return segmentIndex;
+    }
+
+    void deleteBefore(long index) throws IOException {
+        for (long existing : segmentIndexes()) {
+            if (existing < index) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private int replaySegment(Consumer<ByteBuffer> replay) {
+        int offset = 0;
+        while (offset + HEADER <= segmentSize) {
+            int length = segment.getInt(offset);
+            if (length <= 0 || offset + HEADER + length > segmentSize) {
+                break;
+            }
+            ByteBuffer body = segment.slice(offset + HEADER, length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != segment.getInt(offset + 4)) {
+                break;
+            }
+            replay.accept(body);
+            offset += HEADER + length;
+        }
+        return offset;
+    }
+
+    private void map(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentIndex = index;
+        position = 0;
+    }
+
+    private List<Long> segmentIndexes() throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, index, SUFFIX));
+    }
+
+    // User encoding shared by log records and snapshots:
+    //   long id | long createdAt seconds | int createdAt nanos | int age | short length + name | short length + email
+    static int userSize(byte[] name, byte[] email) {
+        return 8 + 8 + 4 + 4 + 2 + name.length + 2 + email.length;
+    }
+
+    static void putUser(ByteBuffer buffer, long id, byte[] name, byte[] email, Integer age, LocalDateTime createdAt) {
+        buffer.putLong(id);
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createdAt.getNano());
+        buffer.putInt(age == null ? NULL_AGE : age);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putShort((short) email.length);
+        buffer.put(email);
+    }
+
+    static User getUser(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        int age = buffer.getInt();
+        String name = getString(buffer);
+        String email = getString(buffer);
+        return new User(id, name, email, age == NULL_AGE ? null : age, createdAt);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
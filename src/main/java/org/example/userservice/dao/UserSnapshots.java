@@ -0,0 +1,204 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Point-in-time copies of every user, named snapshot-<first log segment not covered>.snap:
+//   int magic | int version | long nextSegment | long sequence | long count | users... | int CRC32C
+// Written to a temp file, forced and atomically renamed, so a snapshot on disk is always complete.
+final class UserSnapshots {
+
+    private static final Logger logger = LogManager.getLogger(UserSnapshots.class);
+
+    private static final int MAGIC = 0x55534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER = 4 + 4 + 8 + 8 + 8;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int WRITE_BUFFER = 1 << 20;
+    private static final int READ_BUFFER = 1 << 20;
+    // Fixed fields plus the longest name and email a short length prefix can describe.
+    private static final int MAX_USER_BYTES = 8 + 8 + 4 + 4 + 2 * (2 + 0xFFFF);
+
+    private UserSnapshots() {
+    }
+
+    static final class Header {
+        final long nextSegment;
+        final long sequence;
+
+        private Header(long nextSegment, long sequence) {
+            this.nextSegment = nextSegment;
+            this.sequence = sequence;
+        }
+    }
+
+    static void write(Path directory, long nextSegment, long sequence, Collection<User> users) throws IOException {
+        Path target = path(directory, nextSegment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(nextSegment).putLong(sequence).putLong(users.size());
+            for (User user : users) {
+                byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+                byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < UserLog.userSize(name, email) + 4) {
+                    flush(channel, buffer, crc);
+                }
+                UserLog.putUser(buffer, user.getId(), name, email, user.getAge(), user.getCreatedAt());
+            }
+            flush(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Loads the newest snapshot that passes its checksum, or returns null when there is none. Snapshots are
+    // streamed through a fixed buffer, so their size is not limited by what one mapping can address, and
+    // the checksum is verified in a first pass before any user reaches the consumer.
+    static Header load(Path directory, Consumer<User> consumer) throws IOException {
+        List<Long> indexes = indexes(directory);
+        for (int i = indexes.size() - 1; i >= 0; i--) {
+            Path file = path(directory, indexes.get(i));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER + 4) {
+                    logger.warn("Skipping snapshot {} of unexpected size {}", file, size);
+                    continue;
+                }
+                if (!isIntact(channel, size)) {
+                    logger.warn("Skipping corrupt snapshot {}", file);
+                    continue;
+                }
+
+                Reader reader = new Reader(channel, size - 4);
+                ByteBuffer buffer = reader.fill(HEADER);
+                buffer.position(buffer.position() + 8);
+                Header header = new Header(buffer.getLong(), buffer.getLong());
+                long count = buffer.getLong();
+                for (long n = 0; n < count; n++) {
+                    consumer.accept(UserLog.getUser(reader.fill(MAX_USER_BYTES)));
+                }
+                return header;
+            }
+        }
+        return null;
+    }
+
+    static void deleteBefore(Path directory, long nextSegment) throws IOException {
+        for (long index : indexes(directory)) {
+            if (index < nextSegment) {
+                Files.deleteIfExists(path(directory, index));
+            }
+        }
+    }
+
+    private static boolean isIntact(FileChannel channel, long size) throws IOException {
+        ByteBuffer head = readFully(channel, 0, 8);
+        if (head.getInt() != MAGIC || head.getInt() != VERSION) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER);
+        long end = size - 4;
+        for (long position = 0; position < end; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+            crc.update(buffer.flip());
+        }
+        return (int) crc.getValue() == readFully(channel, end, 4).getInt();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of snapshot at " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static List<Long> indexes(Path directory) throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+
+    private static Path path(Path directory, long nextSegment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, nextSegment, SUFFIX));
+    }
+
+    // Sequential reader over [0, end) that refills its buffer whenever fewer than the requested bytes remain.
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long end;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER).flip();
+        private long position;
+
+        Reader(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+        }
+
+        // Returns the buffer holding at least bytes unread bytes, or everything left before end.
+        ByteBuffer fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return buffer;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes && position < end) {
+                buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of snapshot at " + position);
+                }
+                position += read;
+            }
+            return buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.userservice.dao;
+
+import java.util.Objects;
+
+// Read-only projection for list views: built straight from the result row, never attached to a session.
+public final class UserSummary {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+
+    public UserSummary(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserSummary)) {
+            return false;
+        }
+        UserSummary that = (UserSummary) o;
+        return Objects.equals(id, that.id) && Objects.equals(name, that.name)
+                && Objects.equals(email, that.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, email);
+    }
+
+    @Override
+    public String toString() {
+        return "UserSummary{id=" + id + ", name='" + name + "', email='" + email + "'}";
+    }
+}
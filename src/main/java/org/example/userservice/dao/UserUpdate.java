@@ -0,0 +1,37 @@
+package org.example.userservice.dao;
+
+public class UserUpdate {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Integer age;
+
+    public UserUpdate(Long id, String name, String email, Integer age) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.age = age;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserUpdate{id=%d, name='%s', email='%s', age=%d}", id, name, email, age);
+    }
+}
@@ -0,0 +1,571 @@
+package org.example.userservice.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Acknowledges updates once they are checked and staged in memory; repeated updates to one id coalesce
+// into the latest state and a background thread writes them to the delegate with updateAll, batchSize
+// users per transaction, every flushInterval or as soon as batchSize users are pending. Writers block
+// while maxPending distinct users are waiting. Point reads see staged state; saves, deletes and
+// range reads flush first so they run against the database in order.
+//
+// The delegate's constraints stay authoritative: a batch that fails at flush time is retried one user
+// at a time. An update whose user was deleted or whose email was taken in the meantime is logged and
+// dropped; one that keeps failing for any other reason is parked after MAX_WRITE_ATTEMPTS flushes. If
+// the first user of a batch fails too, the delegate is taken to be down and the rest stay queued.
+// flush() throws when anything was left queued or parked, so callers that flush first do not go on
+// as if the queue were drained.
+public class WriteBehindUserDAO implements UserDAO, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(WriteBehindUserDAO.class);
+
+    static final int DEFAULT_MAX_PENDING = 10_000;
+    static final int DEFAULT_BATCH_SIZE = 500;
+    static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1_000;
+    static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final UserDAO delegate;
+    private final int maxPending;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    // Guarded by lock. pending takes new updates while inFlight is being written by flush().
+    private Staged pending = new Staged();
+    private Staged inFlight = new Staged();
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+    private final List<User> parked = new ArrayList<>();
+    private boolean closed;
+
+    public WriteBehindUserDAO(UserDAO delegate) {
+        this(delegate, DEFAULT_MAX_PENDING, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public WriteBehindUserDAO(UserDAO delegate, int maxPending, int batchSize, long flushIntervalMillis) {
+        if (maxPending <= 0 || batchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("maxPending, batchSize and flushIntervalMillis must be positive");
+        }
+        this.delegate = delegate;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public User save(User user) {
+        flush();
+        return delegate.save(user);
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        flush();
+        return delegate.saveAll(users);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        User staged = id != null ? staged(id) : null;
+        return staged != null ? Optional.of(copyOf(staged)) : delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public Page<User> findPage(Long afterId, int limit) {
+        flush();
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public long streamAll(Consumer<User> consumer) {
+        flush();
+        return delegate.streamAll(consumer);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(Long afterId, int limit) {
+        flush();
+        return delegate.findSummaryPage(afterId, limit);
+    }
+
+    @Override
+    public long streamSummaries(Consumer<UserSummary> consumer) {
+        flush();
+        return delegate.streamSummaries(consumer);
+    }
+
+    @Override
+    public User update(User user) {
+        if (user.getId() == null) {
+            throw new UserNotFoundException("User has no id: " + user.getEmail());
+        }
+        User current = findById(user.getId()).orElseThrow(() -> new UserNotFoundException(user.getId()));
+        checkEmailOwner(user.getId(), user.getEmail());
+
+        User staged = new User(user.getId(), user.getName(), user.getEmail(), user.getAge(), current.getCreatedAt());
+        stage(List.of(staged));
+        user.setCreatedAt(current.getCreatedAt());
+        return user;
+    }
+
+    @Override
+    public List<User> updateAll(List<UserUpdate> updates) {
+        Map<Long, UserUpdate> updatesById = new LinkedHashMap<>();
+        for (UserUpdate update : updates) {
+            updatesById.put(update.getId(), update);
+        }
+
+        Set<String> requestedEmails = new HashSet<>();
+        boolean handsOverEmail = false;
+        List<User> staged = new ArrayList<>(updatesById.size());
+        for (UserUpdate update : updatesById.values()) {
+            User current = (update.getId() == null ? Optional.<User>empty() : findById(update.getId()))
+                    .orElseThrow(() -> new UserNotFoundException(update.getId()));
+            if (!requestedEmails.add(update.getEmail())) {
+                logger.warn("Email already exists during update: {}", update.getEmail());
+                throw new EmailAlreadyExistsException(update.getEmail());
+            }
+            // Users in the batch give up their current email, so they may swap or pass on emails.
+            Optional<User> owner = findByEmail(update.getEmail());
+            if (owner.isPresent() && !owner.get().getId().equals(update.getId())) {
+                if (!updatesById.containsKey(owner.get().getId())) {
+                    logger.warn("Email already exists: {}", update.getEmail());
+                    throw new EmailAlreadyExistsException(update.getEmail());
+                }
+                handsOverEmail = true;
+            }
+            staged.add(new User(update.getId(), update.getName(), update.getEmail(), update.getAge(),
+                    current.getCreatedAt()));
+        }
+        // Queued updates are written in chunks and retried one by one, either of which could split a swap
+        // into updates the delegate rejects, so a batch that hands emails between its users is written through.
+        if (handsOverEmail) {
+            flush();
+            return delegate.updateAll(new ArrayList<>(updatesById.values()));
+        }
+        if (!staged.isEmpty()) {
+            stage(staged);
+        }
+
+        List<User> updated = new ArrayList<>(staged.size());
+        staged.forEach(user -> updated.add(copyOf(user)));
+        return updated;
+    }
+
+    @Override
+    public void delete(Long id) {
+        flush();
+        delegate.delete(id);
+        discard(List.of(id));
+    }
+
+    @Override
+    public List<Long> deleteAll(Collection<Long> ids) {
+        flush();
+        List<Long> notFound = delegate.deleteAll(ids);
+        discard(ids);
+        return notFound;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            User staged = stagedByEmail(email);
+            if (staged != null) {
+                return Optional.of(copyOf(staged));
+            }
+            if (pending.isEmpty() && inFlight.isEmpty()) {
+                return delegate.findByEmail(email);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // The stored owner may have a staged update that moves it to another email.
+        Optional<User> stored = delegate.findByEmail(email);
+        if (stored.isPresent()) {
+            User staged = staged(stored.get().getId());
+            if (staged != null && !staged.getEmail().equals(email)) {
+                return Optional.empty();
+            }
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        lock.lock();
+        try {
+            if (pending.isEmpty() && inFlight.isEmpty()) {
+                return delegate.existsByEmail(email);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return findByEmail(email).isPresent();
+    }
+
+    // Staged updates never add or remove users, so nothing needs flushing first.
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size() + inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Updates given up on after MAX_WRITE_ATTEMPTS failed writes, oldest first.
+    public List<User> getParkedUpdates() {
+        lock.lock();
+        try {
+            List<User> users = new ArrayList<>(parked.size());
+            parked.forEach(user -> users.add(copyOf(user)));
+            return users;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes everything staged so far to the delegate before returning, or throws if some of it could
+    // not be written.
+    public void flush() {
+        synchronized (flushLock) {
+            Staged batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new Staged();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException failure;
+            try {
+                failure = write(new ArrayList<>(batch.byId.values()));
+            } finally {
+                lock.lock();
+                try {
+                    inFlight = new Staged();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            if (failure != null) {
+                throw new RuntimeException("Error writing write-behind updates", failure);
+            }
+        }
+    }
+
+    // Stops the background flusher and drains the queue; later updates go straight to the delegate.
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Write-behind flusher did not stop within {} seconds", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        lock.lock();
+        try {
+            closed = true;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Final write-behind flush failed", e);
+        }
+
+        int lost = getPendingCount() + getParkedUpdates().size();
+        if (lost > 0) {
+            logger.error("Closed with {} write-behind updates not written", lost);
+        } else {
+            logger.info("Write-behind queue drained");
+        }
+    }
+
+    private void stage(List<User> users) {
+        lock.lock();
+        try {
+            int growth = 0;
+            for (User user : users) {
+                if (!pending.byId.containsKey(user.getId())) {
+                    growth++;
+                }
+            }
+            // An oversized batch is still accepted into an empty queue rather than waiting forever.
+            while (!closed && growth > 0 && !pending.isEmpty() && pending.size() + growth > maxPending) {
+                requestFlush();
+                notFull.await();
+            }
+            if (closed) {
+                lock.unlock();
+                try {
+                    delegate.updateAll(toUpdates(users));
+                } finally {
+                    lock.lock();
+                }
+                return;
+            }
+            for (User user : users) {
+                pending.put(user);
+                failedAttempts.remove(user.getId());
+            }
+            if (pending.size() >= batchSize) {
+                requestFlush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the write-behind queue", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the first failure that left an update queued or parked, or null.
+    private RuntimeException write(List<User> users) {
+        RuntimeException failure = null;
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> chunk = users.subList(from, Math.min(users.size(), from + batchSize));
+            try {
+                delegate.updateAll(toUpdates(chunk));
+                written(chunk);
+                continue;
+            } catch (RuntimeException e) {
+                logger.warn("Write-behind batch of {} users failed, retrying one by one", chunk.size(), e);
+            }
+
+            boolean anyWritten = false;
+            for (int i = 0; i < chunk.size(); i++) {
+                RuntimeException error = writeOne(chunk.get(i));
+                if (error == null) {
+                    anyWritten = true;
+                    continue;
+                }
+                failure = failure != null ? failure : error;
+                retryOrPark(chunk.get(i), error);
+                if (!anyWritten) {
+                    requeue(users.subList(from + i + 1, users.size()));
+                    return failure;
+                }
+            }
+        }
+        return failure;
+    }
+
+    // Returns null once the update is written or dropped, or the error that kept it from being written.
+    private RuntimeException writeOne(User user) {
+        try {
+            delegate.update(copyOf(user));
+            written(List.of(user));
+            return null;
+        } catch (UserNotFoundException | EmailAlreadyExistsException e) {
+            logger.error("Dropping write-behind update for user {}: {}", user.getId(), e.getMessage());
+            written(List.of(user));
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private void retryOrPark(User user, RuntimeException error) {
+        lock.lock();
+        try {
+            int attempts = failedAttempts.merge(user.getId(), 1, Integer::sum);
+            if (attempts < MAX_WRITE_ATTEMPTS) {
+                logger.warn("Error writing write-behind update for user {}, attempt {} of {}", user.getId(),
+                        attempts, MAX_WRITE_ATTEMPTS, error);
+                requeue(List.of(user));
+                return;
+            }
+            failedAttempts.remove(user.getId());
+            if (!pending.byId.containsKey(user.getId())) {
+                parked.add(user);
+                logger.error("Parking write-behind update for user {} after {} failed attempts", user.getId(),
+                        attempts, error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void written(List<User> users) {
+        lock.lock();
+        try {
+            if (!failedAttempts.isEmpty()) {
+                users.forEach(user -> failedAttempts.remove(user.getId()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Newer updates staged while the batch was in flight win over the requeued state.
+    private void requeue(List<User> users) {
+        lock.lock();
+        try {
+            for (User user : users) {
+                if (!pending.byId.containsKey(user.getId())) {
+                    pending.put(user);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Collection<Long> ids) {
+        lock.lock();
+        try {
+            for (Long id : ids) {
+                pending.remove(id);
+                failedAttempts.remove(id);
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Closing; close() drains whatever is pending.
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Background write-behind flush failed", e);
+        }
+    }
+
+    private void checkEmailOwner(Long id, String email) {
+        Optional<User> owner = findByEmail(email);
+        if (owner.isPresent() && !owner.get().getId().equals(id)) {
+            logger.warn("Email already exists: {}", email);
+            throw new EmailAlreadyExistsException(email);
+        }
+    }
+
+    private User staged(Long id) {
+        lock.lock();
+        try {
+            User user = pending.byId.get(id);
+            return user != null ? user : inFlight.byId.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock.
+    private User stagedByEmail(String email) {
+        User user = pending.byEmail.get(email);
+        if (user != null) {
+            return user;
+        }
+        user = inFlight.byEmail.get(email);
+        return user != null && !pending.byId.containsKey(user.getId()) ? user : null;
+    }
+
+    private static List<UserUpdate> toUpdates(List<User> users) {
+        List<UserUpdate> updates = new ArrayList<>(users.size());
+        for (User user : users) {
+            updates.add(new UserUpdate(user.getId(), user.getName(), user.getEmail(), user.getAge()));
+        }
+        return updates;
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getCreatedAt());
+    }
+
+    // Latest staged state per id, with an email index so point reads by email stay O(1).
+    private static final class Staged {
+        private final Map<Long, User> byId = new LinkedHashMap<>();
+        private final Map<String, User> byEmail = new HashMap<>();
+
+        void put(User user) {
+            remove(user.getId());
+            byId.put(user.getId(), user);
+            byEmail.put(user.getEmail(), user);
+        }
+
+        void remove(Long id) {
+            User previous = byId.remove(id);
+            if (previous != null) {
+                byEmail.remove(previous.getEmail(), previous);
+            }
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        boolean isEmpty() {
+            return byId.isEmpty();
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package org.example.userservice.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.EMAIL_CACHE_REGION)
 @Table(name = "users")
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String EMAIL_CACHE_REGION = "users-by-email";
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true, length = 255)
     private String email;
 
@@ -35,6 +49,15 @@ public class User {
         this.age = age;
     }
 
+    // Full-state copy constructor; skips the clock read of the other constructors.
+    public User(Long id, String name, String email, Integer age, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.age = age;
+        this.createdAt = createdAt;
+    }
+
     public Long getId() {
         return id;
     }
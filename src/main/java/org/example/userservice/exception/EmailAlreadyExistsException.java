@@ -1,7 +1,18 @@
 package org.example.userservice.exception;
 
+import java.util.Collection;
+
 public class EmailAlreadyExistsException extends RuntimeException{
     public EmailAlreadyExistsException(String email) {
         super("Email already exists: " + email);
     }
+
+    private EmailAlreadyExistsException(Collection<String> emails) {
+        super("One of these emails already exists: " + String.join(", ", emails));
+    }
+
+    // For batch writes rejected by the database without saying which of the emails clashed.
+    public static EmailAlreadyExistsException anyOf(Collection<String> emails) {
+        return new EmailAlreadyExistsException(emails);
+    }
 }
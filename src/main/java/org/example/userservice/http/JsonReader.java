@@ -0,0 +1,182 @@
+package org.example.userservice.http;
+
+import org.example.userservice.exception.ValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Parses the flat request bodies the API accepts ({"name": "...", "email": "...", "age": 30});
+// nested values are rejected rather than silently ignored.
+public final class JsonReader {
+
+    private final String json;
+    private int position;
+
+    private JsonReader(String json) {
+        this.json = json;
+    }
+
+    public static Map<String, Object> readObject(String json) {
+        JsonReader reader = new JsonReader(json);
+        Map<String, Object> values = reader.object();
+        reader.skipWhitespace();
+        if (reader.position != json.length()) {
+            throw reader.error("Unexpected trailing content");
+        }
+        return values;
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> values = new HashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return values;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            values.put(name, value());
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return values;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private Object value() {
+        char c = peek();
+        if (c == '"') {
+            return string();
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            return number();
+        }
+        if (json.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        if (json.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if (json.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        }
+        throw error("Unsupported value");
+    }
+
+    private Long number() {
+        int start = position;
+        if (peek() == '-') {
+            position++;
+        }
+        while (position < json.length() && Character.isDigit(json.charAt(position))) {
+            position++;
+        }
+        if (position < json.length() && (json.charAt(position) == '.' || json.charAt(position) == 'e'
+                || json.charAt(position) == 'E')) {
+            throw error("Only integer numbers are supported");
+        }
+        try {
+            return Long.parseLong(json.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number");
+        }
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder result = null;
+        int runStart = position;
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                if (result == null) {
+                    return json.substring(runStart, position - 1);
+                }
+                return result.append(json, runStart, position - 1).toString();
+            }
+            if (c == '\\') {
+                if (result == null) {
+                    result = new StringBuilder();
+                }
+                result.append(json, runStart, position - 1);
+                result.append(unescape(next()));
+                runStart = position;
+            } else if (c < 0x20) {
+                throw error("Unescaped control character in string");
+            }
+        }
+    }
+
+    private char unescape(char c) {
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (position + 4 > json.length()) {
+                    throw error("Invalid unicode escape");
+                }
+                try {
+                    char decoded = (char) Integer.parseInt(json.substring(position, position + 4), 16);
+                    position += 4;
+                    return decoded;
+                } catch (NumberFormatException e) {
+                    throw error("Invalid unicode escape");
+                }
+            default:
+                throw error("Invalid escape");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private char peek() {
+        if (position >= json.length()) {
+            throw error("Unexpected end of JSON");
+        }
+        return json.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private ValidationException error(String message) {
+        return new ValidationException("Malformed JSON at position " + position + ": " + message);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.userservice.http;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class JsonWriter implements Flushable {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+    private boolean needsComma;
+
+    public JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        separator();
+        out.write('{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        out.write('}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        separator();
+        out.write('[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        out.write(']');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separator();
+        string(name);
+        out.write(':');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        separator();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return value(value.longValue());
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        separator();
+        out.write(value ? "true" : "false");
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(LocalDateTime value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        separator();
+        // ISO-8601 output never needs escaping, so format straight into the stream.
+        out.write('"');
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, out);
+        out.write('"');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        separator();
+        out.write("null");
+        needsComma = true;
+        return this;
+    }
+
+    // Ends one NDJSON record; the next top-level value starts on the new line without a separator.
+    public JsonWriter newline() throws IOException {
+        out.write('\n');
+        needsComma = false;
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (needsComma) {
+            out.write(',');
+        }
+    }
+
+    // Copies unescaped runs in one write and only breaks the run for characters that need escaping.
+    private void string(String value) throws IOException {
+        out.write('"');
+        int runStart = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.write(value, runStart, i - runStart);
+            escape(c);
+            runStart = i + 1;
+        }
+        out.write(value, runStart, length - runStart);
+        out.write('"');
+    }
+
+    private void escape(char c) throws IOException {
+        switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                out.write("\\u");
+                out.write(HEX[(c >> 12) & 0xF]);
+                out.write(HEX[(c >> 8) & 0xF]);
+                out.write(HEX[(c >> 4) & 0xF]);
+                out.write(HEX[c & 0xF]);
+        }
+    }
+}
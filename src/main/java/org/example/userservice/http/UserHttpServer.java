@@ -0,0 +1,240 @@
+package org.example.userservice.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.userservice.dao.Page;
+import org.example.userservice.dao.UserSummary;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.service.UserService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class UserHttpServer {
+
+    private static final Logger logger = LogManager.getLogger(UserHttpServer.class);
+
+    static final String USERS_PATH = "/users";
+    private static final int BACKLOG = 1024;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final UserService userService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public UserHttpServer(UserService userService, int port) throws IOException {
+        this.userService = userService;
+        this.server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(executor);
+        this.server.createContext(USERS_PATH, this::handle);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("HTTP server listening on port {}", getPort());
+    }
+
+    public void stop() {
+        logger.info("Stopping HTTP server");
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (Exception e) {
+                fail(exchange, e);
+            }
+        }
+    }
+
+    private void fail(HttpExchange exchange, Exception e) throws IOException {
+        int status = statusFor(e);
+        if (status == 500) {
+            logger.error("Unexpected error handling {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+        }
+        // Once a streamed body has started the status line is gone; closing the exchange truncates the response.
+        if (exchange.getResponseCode() == -1) {
+            sendError(exchange, status, status == 500 ? "Internal server error" : e.getMessage());
+        }
+    }
+
+    private static int statusFor(Exception e) {
+        if (e instanceof ValidationException || e instanceof NumberFormatException) {
+            return 400;
+        }
+        if (e instanceof UserNotFoundException) {
+            return 404;
+        }
+        if (e instanceof EmailAlreadyExistsException) {
+            return 409;
+        }
+        return 500;
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        // The context matches any path starting with /users, including /usersX; only /users[/] and /users/{id} exist.
+        if (!path.equals(USERS_PATH) && !path.startsWith(USERS_PATH + "/")) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+        String idSegment = path.length() > USERS_PATH.length() + 1 ? path.substring(USERS_PATH.length() + 1) : null;
+        if (idSegment != null && idSegment.indexOf('/') >= 0) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+
+        if (idSegment == null) {
+            if ("GET".equals(method)) {
+                listOrFindByEmail(exchange);
+            } else if ("POST".equals(method)) {
+                Map<String, Object> body = readBody(exchange);
+                User user = userService.createUser(string(body, "name"), string(body, "email"), integer(body, "age"));
+                sendUser(exchange, 201, user);
+            } else {
+                sendError(exchange, 405, "Method not allowed");
+            }
+            return;
+        }
+
+        Long id = Long.parseLong(idSegment);
+        switch (method) {
+            case "GET":
+                sendUser(exchange, 200, userService.getUserById(id));
+                break;
+            case "PUT":
+                Map<String, Object> body = readBody(exchange);
+                sendUser(exchange, 200, userService.updateUser(id, string(body, "name"), string(body, "email"), integer(body, "age")));
+                break;
+            case "DELETE":
+                userService.deleteUser(id);
+                exchange.sendResponseHeaders(204, -1);
+                break;
+            default:
+                sendError(exchange, 405, "Method not allowed");
+        }
+    }
+
+    private void listOrFindByEmail(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (query.containsKey("email")) {
+            sendUser(exchange, 200, userService.getUserByEmail(query.get("email")));
+            return;
+        }
+
+        // Listings carry id, name and email only; GET /users/{id} returns the full record.
+        if (query.containsKey("limit")) {
+            Long after = query.containsKey("after") ? Long.parseLong(query.get("after")) : null;
+            Page<UserSummary> page = userService.getUserSummaries(after, Integer.parseInt(query.get("limit")));
+            send(exchange, 200, json -> {
+                json.beginObject().name("users").beginArray();
+                for (UserSummary user : page.getItems()) {
+                    UserJson.write(json, user);
+                }
+                json.endArray().name("next").value(page.getNextCursor()).endObject();
+            });
+            return;
+        }
+
+        // Chunked response: rows are written as the cursor produces them, never collected in a list.
+        send(exchange, 200, json -> {
+            json.beginArray();
+            userService.forEachUserSummary(user -> {
+                try {
+                    UserJson.write(json, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.endArray();
+        });
+    }
+
+    private void sendUser(HttpExchange exchange, int status, User user) throws IOException {
+        send(exchange, status, json -> UserJson.write(json, user));
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, json -> json.beginObject().name("error").value(message).endObject());
+    }
+
+    private void send(HttpExchange exchange, int status, JsonBody body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, 0);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        JsonWriter json = new JsonWriter(writer);
+        body.write(json);
+        json.flush();
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return JsonReader.readObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static String string(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new ValidationException("Field '" + name + "' must be a string");
+        }
+        return (String) value;
+    }
+
+    private static Integer integer(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Long) || (Long) value < Integer.MIN_VALUE || (Long) value > Integer.MAX_VALUE) {
+            throw new ValidationException("Field '" + name + "' must be an integer");
+        }
+        return ((Long) value).intValue();
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonWriter json) throws IOException;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.userservice.http;
+
+import org.example.userservice.dao.UserSummary;
+import org.example.userservice.entity.User;
+
+import java.io.IOException;
+
+final class UserJson {
+
+    private UserJson() {
+    }
+
+    static void write(JsonWriter json, User user) throws IOException {
+        json.beginObject()
+                .name("id").value(user.getId())
+                .name("name").value(user.getName())
+                .name("email").value(user.getEmail())
+                .name("age").value(user.getAge())
+                .name("createdAt").value(user.getCreatedAt())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, UserSummary user) throws IOException {
+        json.beginObject()
+                .name("id").value(user.getId())
+                .name("name").value(user.getName())
+                .name("email").value(user.getEmail())
+                .endObject();
+    }
+}
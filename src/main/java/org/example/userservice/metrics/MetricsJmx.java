@@ -0,0 +1,40 @@
+package org.example.userservice.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+public class MetricsJmx implements MetricsMXBean {
+
+    private static final Logger logger = LogManager.getLogger(MetricsJmx.class);
+    public static final String OBJECT_NAME = "org.example.userservice:type=Metrics";
+
+    private final MetricsRegistry registry;
+
+    public MetricsJmx(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static void register(MetricsRegistry registry) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsJmx(registry), name);
+                logger.info("Registered metrics MBean {}", OBJECT_NAME);
+            }
+        } catch (JMException e) {
+            logger.warn("Could not register metrics MBean {}", OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public List<OperationSnapshot> getOperations() {
+        return registry.snapshot();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.userservice.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsLogReporter implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(MetricsLogReporter.class);
+
+    private final MetricsRegistry registry;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsLogReporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public MetricsLogReporter start(long periodSeconds) {
+        scheduler.scheduleAtFixedRate(this::report, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return this;
+    }
+
+    // Figures are cumulative since start, so successive reports can be diffed for rates.
+    void report() {
+        for (OperationSnapshot snapshot : registry.snapshot()) {
+            if (snapshot.getCount() > 0) {
+                logger.info("{}", snapshot);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        report();
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.userservice.metrics;
+
+import java.util.List;
+
+public interface MetricsMXBean {
+
+    List<OperationSnapshot> getOperations();
+}
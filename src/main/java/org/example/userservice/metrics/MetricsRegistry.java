@@ -0,0 +1,56 @@
+package org.example.userservice.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public OperationMetrics operation(String name) {
+        OperationMetrics metrics = operations.get(name);
+        return metrics != null ? metrics : operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    public <T> T time(String name, Supplier<T> body) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = body.get();
+            failed = false;
+            return result;
+        } finally {
+            operation(name).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public void run(String name, Runnable body) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            body.run();
+            failed = false;
+        } finally {
+            operation(name).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public List<OperationSnapshot> snapshot() {
+        List<OperationSnapshot> snapshots = new ArrayList<>(operations.size());
+        for (OperationMetrics metrics : operations.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(OperationSnapshot::getName));
+        return snapshots;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.userservice.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationMetrics {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // Recording is wait-free; readers swap out the interval histogram and fold it into the running total.
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long elapsedNanos, boolean failed) {
+        recorder.recordValue(Math.max(0, elapsedNanos));
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public synchronized OperationSnapshot snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return new OperationSnapshot(name, count.sum(), errors.sum(),
+                micros(total.getMean()),
+                micros(total.getValueAtPercentile(50)),
+                micros(total.getValueAtPercentile(99)),
+                micros(total.getValueAtPercentile(99.9)),
+                micros(total.getMaxValue()));
+    }
+
+    private static double micros(double nanos) {
+        return nanos / 1_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.userservice.metrics;
+
+import java.beans.ConstructorProperties;
+
+// Latencies are in microseconds; the getters double as the MXBean's CompositeData items.
+public class OperationSnapshot {
+
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maxMicros;
+
+    @ConstructorProperties({"name", "count", "errors", "meanMicros", "p50Micros", "p99Micros", "p999Micros", "maxMicros"})
+    public OperationSnapshot(String name, long count, long errors, double meanMicros, double p50Micros,
+                             double p99Micros, double p999Micros, double maxMicros) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getP999Micros() {
+        return p999Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d errors=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                name, count, errors, meanMicros, p50Micros, p99Micros, p999Micros, maxMicros);
+    }
+}
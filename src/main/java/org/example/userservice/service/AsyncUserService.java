@@ -0,0 +1,90 @@
+package org.example.userservice.service;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.util.HibernateUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class AsyncUserService implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(AsyncUserService.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final UserService userService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public AsyncUserService() {
+        this(new UserService(), HibernateUtil.getConnectionPoolMetrics().getMaxConnections());
+    }
+
+    public AsyncUserService(UserService userService, int maxConcurrency) {
+        this(userService, maxConcurrency, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public AsyncUserService(UserService userService, int maxConcurrency, ExecutorService executor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+        this.userService = userService;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    public CompletableFuture<User> createUser(String name, String email, Integer age) {
+        return submit(() -> userService.createUser(name, email, age));
+    }
+
+    public CompletableFuture<User> getUserById(Long id) {
+        return submit(() -> userService.getUserById(id));
+    }
+
+    public CompletableFuture<User> getUserByEmail(String email) {
+        return submit(() -> userService.getUserByEmail(email));
+    }
+
+    public CompletableFuture<User> updateUser(Long id, String name, String email, Integer age) {
+        return submit(() -> userService.updateUser(id, name, email, age));
+    }
+
+    public CompletableFuture<Void> deleteUser(Long id) {
+        return submit(() -> {
+            userService.deleteUser(id);
+            return null;
+        });
+    }
+
+    // Tasks beyond the limit park on the semaphore (cheap on a virtual thread) instead of
+    // queueing inside the connection pool, where they would count against its timeout.
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return task.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        logger.info("Shutting down async user service");
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,115 +1,225 @@
 package org.example.userservice.service;
 
+import org.example.userservice.dao.EmailFilterUserDAO;
+import org.example.userservice.dao.InstrumentedUserDAO;
+import org.example.userservice.dao.Page;
 import org.example.userservice.dao.UserDAO;
 import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.dao.UserSummary;
+import org.example.userservice.dao.UserUpdate;
+import org.example.userservice.dao.WriteBehindUserDAO;
 import org.example.userservice.entity.User;
 import org.example.userservice.exception.EmailAlreadyExistsException;
 import org.example.userservice.exception.UserNotFoundException;
 import org.example.userservice.exception.ValidationException;
+import org.example.userservice.metrics.MetricsRegistry;
+import org.example.userservice.util.HibernateUtil;
+import org.example.userservice.validation.UserValidator;
+import org.example.userservice.validation.ValidationRules;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 
 public class UserService {
 
     private static final Logger logger = LogManager.getLogger(UserService.class);
+    static final int MAX_PAGE_SIZE = 1000;
+    // -Duserservice.writeBehind=true stages updates in memory and writes them in batches; see WriteBehindUserDAO.
+    private static final boolean WRITE_BEHIND = Boolean.getBoolean("userservice.writeBehind");
+
     private final UserDAO userDAO;
+    private final UserValidator validator;
+    private final MetricsRegistry metrics;
 
     public UserService() {
-        this.userDAO = new UserDAOImpl();
+        this(defaultUserDAO());
     }
 
     public UserService(UserDAO userDAO) {
+        this(userDAO, UserValidator.defaults());
+    }
+
+    public UserService(UserDAO userDAO, UserValidator validator) {
+        this(userDAO, validator, MetricsRegistry.global());
+    }
+
+    public UserService(UserDAO userDAO, UserValidator validator, MetricsRegistry metrics) {
         this.userDAO = userDAO;
+        this.validator = validator;
+        this.metrics = metrics;
+    }
+
+    private static UserDAO defaultUserDAO() {
+        UserDAO userDAO = new UserDAOImpl();
+        if (WRITE_BEHIND) {
+            WriteBehindUserDAO writeBehind = new WriteBehindUserDAO(userDAO);
+            HibernateUtil.beforeShutdown(writeBehind::close);
+            userDAO = writeBehind;
+        }
+        return new InstrumentedUserDAO(new EmailFilterUserDAO(userDAO));
     }
 
     public User createUser(String name, String email, Integer age) {
-        logger.info("Creating new user: {}", email);
-        validateUserData(name, email, age);
+        return metrics.time("service.createUser", () -> {
+            logger.info("Creating new user: {}", email);
+            validateUserData(name, email, age);
+
+            // The users.email unique constraint rejects duplicates; the DAO maps it to EmailAlreadyExistsException.
+            User user = new User(name, email, age);
+            return userDAO.save(user);
+        });
+    }
 
-        if (userDAO.existsByEmail(email)) {
-            logger.warn("Email already exists: {}", email);
-            throw new EmailAlreadyExistsException(email);
-        }
+    public List<User> createUsers(List<User> users) {
+        return metrics.time("service.createUsers", () -> {
+            logger.info("Creating {} users", users.size());
+            for (User user : users) {
+                validateUserData(user.getName(), user.getEmail(), user.getAge());
+            }
 
-        User user = new User(name, email, age);
-        return userDAO.save(user);
+            return userDAO.saveAll(users);
+        });
     }
 
     public User getUserById(Long id) {
-        logger.info("Getting user by id: {}", id);
-        if (id == null || id <= 0) {
-            throw new ValidationException("Invalid user ID");
-        }
-
-        return userDAO.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+        return metrics.time("service.getUserById", () -> {
+            logger.info("Getting user by id: {}", id);
+            return findExisting(id);
+        });
     }
 
     public List<User> getAllUsers() {
-        logger.info("Getting all users");
-        return userDAO.findAll();
+        return metrics.time("service.getAllUsers", () -> {
+            logger.info("Getting all users");
+            return userDAO.findAll();
+        });
+    }
+
+    public Page<User> getAllUsers(Long afterId, int limit) {
+        return metrics.time("service.getUsersPage", () -> {
+            logger.info("Getting users page after id: {}, limit: {}", afterId, limit);
+            validatePage(afterId, limit);
+            return userDAO.findPage(afterId, limit);
+        });
+    }
+
+    public long forEachUser(Consumer<User> consumer) {
+        return metrics.time("service.forEachUser", () -> {
+            logger.info("Streaming all users");
+            return userDAO.streamAll(consumer);
+        });
+    }
+
+    public Page<UserSummary> getUserSummaries(Long afterId, int limit) {
+        return metrics.time("service.getUserSummaries", () -> {
+            logger.info("Getting user summaries page after id: {}, limit: {}", afterId, limit);
+            validatePage(afterId, limit);
+            return userDAO.findSummaryPage(afterId, limit);
+        });
+    }
+
+    public long forEachUserSummary(Consumer<UserSummary> consumer) {
+        return metrics.time("service.forEachUserSummary", () -> {
+            logger.info("Streaming all user summaries");
+            return userDAO.streamSummaries(consumer);
+        });
     }
 
     public User updateUser(Long id, String name, String email, Integer age) {
-        logger.info("Updating user with id: {}", id);
-        validateUserData(name, email, age);
+        return metrics.time("service.updateUser", () -> {
+            logger.info("Updating user with id: {}", id);
+            validateUserData(name, email, age);
 
-        User existingUser = getUserById(id);
+            User existingUser = findExisting(id);
 
-        if (!existingUser.getEmail().equals(email) && userDAO.existsByEmail(email)) {
-            logger.warn("Email already exists during update: {}", email);
-            throw new EmailAlreadyExistsException(email);
-        }
+            if (!existingUser.getEmail().equals(email) && userDAO.existsByEmail(email)) {
+                logger.warn("Email already exists during update: {}", email);
+                throw new EmailAlreadyExistsException(email);
+            }
+
+            existingUser.setName(name);
+            existingUser.setEmail(email);
+            existingUser.setAge(age);
 
-        existingUser.setName(name);
-        existingUser.setEmail(email);
-        existingUser.setAge(age);
+            return userDAO.update(existingUser);
+        });
+    }
 
-        return userDAO.update(existingUser);
+    public List<User> updateAll(List<UserUpdate> updates) {
+        return metrics.time("service.updateAll", () -> {
+            logger.info("Updating {} users", updates.size());
+            for (UserUpdate update : updates) {
+                if (update.getId() == null || update.getId() <= 0) {
+                    throw new ValidationException("Invalid user ID");
+                }
+                validateUserData(update.getName(), update.getEmail(), update.getAge());
+            }
+
+            return userDAO.updateAll(updates);
+        });
     }
 
     public void deleteUser(Long id) {
-        logger.info("Deleting user with id: {}", id);
-        if (id == null || id <= 0) {
-            throw new ValidationException("Invalid user ID");
-        }
+        metrics.run("service.deleteUser", () -> {
+            logger.info("Deleting user with id: {}", id);
+            findExisting(id);
+            userDAO.delete(id);
+        });
+    }
 
-        getUserById(id);
-        userDAO.delete(id);
+    public List<Long> deleteUsers(Collection<Long> ids) {
+        return metrics.time("service.deleteUsers", () -> {
+            logger.info("Deleting {} users", ids.size());
+            for (Long id : ids) {
+                if (id == null || id <= 0) {
+                    throw new ValidationException("Invalid user ID");
+                }
+            }
+
+            return userDAO.deleteAll(ids);
+        });
     }
 
     public User getUserByEmail(String email) {
-        logger.info("Getting user by email: {}", email);
-        if (email == null || email.trim().isEmpty()) {
-            throw new ValidationException("Email cannot be empty");
-        }
+        return metrics.time("service.getUserByEmail", () -> {
+            logger.info("Getting user by email: {}", email);
+            if (ValidationRules.isBlank(email)) {
+                throw new ValidationException("Email cannot be empty");
+            }
+
+            return userDAO.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+        });
+    }
 
-        return userDAO.findByEmail(email).orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+    public UserValidator getValidator() {
+        return validator;
     }
 
-    private void validateUserData(String name, String email, Integer age) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new ValidationException("Name cannot be empty");
+    // Untimed lookup for the write paths, so updates and deletes are not also counted as service.getUserById.
+    private User findExisting(Long id) {
+        if (id == null || id <= 0) {
+            throw new ValidationException("Invalid user ID");
         }
 
-        if (email == null || email.trim().isEmpty()) {
-            throw new ValidationException("Email cannot be empty");
-        }
+        return userDAO.findById(id).orElseThrow(() -> new UserNotFoundException(id));
+    }
 
-        if (!isValidEmail(email)) {
-            throw new ValidationException("Invalid email format");
+    private static void validatePage(Long afterId, int limit) {
+        if (afterId != null && afterId < 0) {
+            throw new ValidationException("Invalid cursor");
         }
 
-        if (age != null && (age < 0 || age > 150)) {
-            throw new ValidationException("Age must be between 0 and 150");
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
     }
 
-    private boolean isValidEmail(String email) {
-        String emailRegex = "^[A-Za-z0-9+_.-]+@(.+)$";
-        return email.matches(emailRegex);
+    private void validateUserData(String name, String email, Integer age) {
+        validator.validate(name, email, age);
     }
-}
\ No newline at end of file
+}
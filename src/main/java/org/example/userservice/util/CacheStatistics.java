@@ -0,0 +1,90 @@
+package org.example.userservice.util;
+
+import org.example.userservice.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+public class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long naturalIdHitCount;
+    private final long naturalIdMissCount;
+    private final long evictionCount;
+
+    CacheStatistics(long hitCount, long missCount, long putCount,
+                    long naturalIdHitCount, long naturalIdMissCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.naturalIdHitCount = naturalIdHitCount;
+        this.naturalIdMissCount = naturalIdMissCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public static CacheStatistics of(SessionFactory sessionFactory) {
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheRegionStatistics entityRegion = statistics.getDomainDataRegionStatistics(User.CACHE_REGION);
+        CacheRegionStatistics naturalIdRegion = statistics.getDomainDataRegionStatistics(User.EMAIL_CACHE_REGION);
+
+        return new CacheStatistics(
+                entityRegion.getHitCount(),
+                entityRegion.getMissCount(),
+                entityRegion.getPutCount(),
+                naturalIdRegion.getHitCount(),
+                naturalIdRegion.getMissCount(),
+                evictionCount(User.CACHE_REGION) + evictionCount(User.EMAIL_CACHE_REGION));
+    }
+
+    private static long evictionCount(String cacheName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,CacheManager=*,Cache=" + cacheName), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public long getNaturalIdHitCount() {
+        return naturalIdHitCount;
+    }
+
+    public long getNaturalIdMissCount() {
+        return naturalIdMissCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStatistics{hits=%d, misses=%d, puts=%d, naturalIdHits=%d, naturalIdMisses=%d, evictions=%d}",
+                hitCount, missCount, putCount, naturalIdHitCount, naturalIdMissCount, evictionCount);
+    }
+}
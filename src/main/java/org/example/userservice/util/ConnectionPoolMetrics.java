@@ -0,0 +1,108 @@
+package org.example.userservice.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    public static ConnectionPoolMetrics install(SessionFactory sessionFactory) {
+        ConnectionProvider connectionProvider = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(ConnectionProvider.class);
+        if (connectionProvider == null || !connectionProvider.isUnwrappableAs(DataSource.class)) {
+            throw new IllegalStateException("Connection provider is not a pooled DataSource: " + connectionProvider);
+        }
+
+        DataSource dataSource = connectionProvider.unwrap(DataSource.class);
+        if (!(dataSource instanceof HikariDataSource)) {
+            throw new IllegalStateException("Connection provider is not backed by HikariCP: " + dataSource);
+        }
+
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        ((HikariDataSource) dataSource).setMetricsTrackerFactory(metrics);
+        return metrics;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeoutCount.increment();
+            }
+        };
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getTotalConnections();
+    }
+
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMaxConnections();
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public double getAverageAcquireMillis() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0 : acquireNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPoolMetrics{active=%d, idle=%d, pending=%d, total=%d, acquired=%d, avgAcquireMs=%.3f, maxAcquireMs=%.3f, timeouts=%d}",
+                getActiveConnections(), getIdleConnections(), getPendingThreads(), getTotalConnections(),
+                getAcquireCount(), getAverageAcquireMillis(), getMaxAcquireMillis(), getTimeoutCount());
+    }
+}
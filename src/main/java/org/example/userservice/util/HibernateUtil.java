@@ -5,16 +5,25 @@ import org.apache.logging.log4j.Logger;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 public class HibernateUtil {
     private static final Logger logger = LogManager.getLogger(HibernateUtil.class);
+    private static final List<Runnable> beforeShutdown = new CopyOnWriteArrayList<>();
+    private static ConnectionPoolMetrics connectionPoolMetrics;
     private static SessionFactory sessionFactory = buildSessionFactory();
+    private static ReplicaRouter replicaRouter = buildReplicaRouter();
 
     private static SessionFactory buildSessionFactory() {
         try {
             logger.info("Creating SessionFactory");
             Configuration configuration = new Configuration();
             configuration.configure("hibernate.cfg.xml");
+            applySystemOverrides(configuration);
             SessionFactory factory = configuration.buildSessionFactory();
+            connectionPoolMetrics = ConnectionPoolMetrics.install(factory);
             logger.info("SessionFactory created successfully");
             return factory;
         } catch (Throwable e) {
@@ -23,12 +32,86 @@ public class HibernateUtil {
         }
     }
 
+    // -Duserservice.replicas=jdbc:postgresql://replica1/userdb,jdbc:postgresql://replica2/userdb adds one
+    // read-only SessionFactory per URL, sharing the primary's credentials and pool settings. Replicas skip
+    // schema updates and the second-level cache: a shared cache region would let a lagging replica put stale
+    // rows where the primary reads them. UserDAOImpl serves lookups the primary's cache holds before
+    // going to a replica.
+    private static ReplicaRouter buildReplicaRouter() {
+        String urls = System.getProperty("userservice.replicas", "").trim();
+        if (urls.isEmpty()) {
+            return null;
+        }
+        ReplicaRouter.Strategy strategy = ReplicaRouter.Strategy.parse(
+                System.getProperty("userservice.replicas.strategy", "round-robin"));
+        long stickyMillis = Long.getLong("userservice.replicas.stickyMillis", ReplicaRouter.DEFAULT_STICKY_MILLIS);
+
+        List<SessionFactory> replicas = new ArrayList<>();
+        try {
+            for (String url : urls.split(",")) {
+                Configuration configuration = new Configuration();
+                configuration.configure("hibernate.cfg.xml");
+                applySystemOverrides(configuration);
+                configuration.setProperty("hibernate.connection.url", url.trim());
+                configuration.setProperty("hibernate.hikari.poolName", "user-service-replica-" + replicas.size());
+                configuration.setProperty("hibernate.hikari.readOnly", "true");
+                configuration.setProperty("hibernate.hbm2ddl.auto", "none");
+                configuration.setProperty("hibernate.cache.use_second_level_cache", "false");
+                replicas.add(configuration.buildSessionFactory());
+                logger.info("Read replica SessionFactory created for {}", url.trim());
+            }
+        } catch (Throwable e) {
+            logger.error(e.getMessage());
+            replicas.forEach(SessionFactory::close);
+            throw new ExceptionInInitializerError(e);
+        }
+        logger.info("Routing reads to {} replicas ({})", replicas.size(), strategy);
+        return new ReplicaRouter(replicas, strategy, stickyMillis);
+    }
+
+    // -Dhibernate.hikari.maximumPoolSize=50 and friends win over hibernate.cfg.xml
+    private static void applySystemOverrides(Configuration configuration) {
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("hibernate.")) {
+                configuration.setProperty(name, System.getProperty(name));
+            }
+        }
+    }
+
     public static SessionFactory getSessionFactory() {
         return sessionFactory;
     }
 
+    // null when no replicas are configured
+    public static ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    public static ConnectionPoolMetrics getConnectionPoolMetrics() {
+        return connectionPoolMetrics;
+    }
+
+    public static CacheStatistics getCacheStatistics() {
+        return CacheStatistics.of(getSessionFactory());
+    }
+
+    // Runs in shutdown() while the SessionFactory is still open, e.g. to drain write-behind queues.
+    public static void beforeShutdown(Runnable hook) {
+        beforeShutdown.add(hook);
+    }
+
     public static void shutdown() {
+        for (Runnable hook : beforeShutdown) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                logger.error("Shutdown hook failed", e);
+            }
+        }
         logger.info("Shutting down SessionFactory");
+        if (replicaRouter != null) {
+            replicaRouter.getSessionFactories().forEach(SessionFactory::close);
+        }
         getSessionFactory().close();
         logger.info("SessionFactory closed successfully");
     }
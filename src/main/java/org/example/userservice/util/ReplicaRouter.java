@@ -0,0 +1,164 @@
+package org.example.userservice.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.SessionFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Picks the read-replica SessionFactory for a lookup, or null when it must go to the primary: no replica
+// is healthy, or the key (a user id or email) was written within the stickiness window, so this node
+// reads its own writes despite replication lag. A null key stands for whole-table reads, which stay on
+// the primary for the window after any write.
+public class ReplicaRouter {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        // Lowest moving-average read latency; every PROBE_INTERVAL-th pick goes round-robin instead so a
+        // replica that was slow once gets measured again.
+        LEAST_LATENCY;
+
+        public static Strategy parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public static final long DEFAULT_STICKY_MILLIS = 5_000;
+    static final long UNHEALTHY_MILLIS = 5_000;
+    static final int PROBE_INTERVAL = 32;
+    private static final long MAX_STICKY_KEYS = 100_000;
+
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final long stickyNanos;
+    private final Cache<Object, Boolean> recentWrites;
+    // Starts far enough in the past that whole-table reads are never sticky before the first write.
+    private volatile long lastWriteNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+    private final AtomicLong picks = new AtomicLong();
+
+    public ReplicaRouter(List<SessionFactory> sessionFactories, Strategy strategy) {
+        this(sessionFactories, strategy, DEFAULT_STICKY_MILLIS);
+    }
+
+    // stickyMillis 0 turns read-your-writes off.
+    public ReplicaRouter(List<SessionFactory> sessionFactories, Strategy strategy, long stickyMillis) {
+        if (sessionFactories.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        if (stickyMillis < 0) {
+            throw new IllegalArgumentException("stickyMillis must not be negative: " + stickyMillis);
+        }
+        this.replicas = new ArrayList<>(sessionFactories.size());
+        for (SessionFactory sessionFactory : sessionFactories) {
+            replicas.add(new Replica(sessionFactory));
+        }
+        this.strategy = strategy;
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        this.recentWrites = stickyMillis > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(MAX_STICKY_KEYS)
+                        .expireAfterWrite(Duration.ofMillis(stickyMillis))
+                        .build()
+                : null;
+    }
+
+    public Replica select(Object key) {
+        if (isSticky(key)) {
+            return null;
+        }
+        long pick = picks.getAndIncrement();
+        long now = System.nanoTime();
+        if (strategy == Strategy.LEAST_LATENCY && pick % PROBE_INTERVAL != 0) {
+            Replica fastest = null;
+            for (Replica replica : replicas) {
+                if (replica.isHealthy(now) && (fastest == null || replica.latencyNanos < fastest.latencyNanos)) {
+                    fastest = replica;
+                }
+            }
+            return fastest;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((int) ((pick + i) % replicas.size()));
+            if (replica.isHealthy(now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Call after a commit on the primary with every id and email the write touched.
+    public void wrote(Object... keys) {
+        if (recentWrites == null) {
+            return;
+        }
+        lastWriteNanos = System.nanoTime();
+        for (Object key : keys) {
+            if (key != null) {
+                recentWrites.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean isSticky(Object key) {
+        if (recentWrites == null) {
+            return false;
+        }
+        if (key == null) {
+            return System.nanoTime() - lastWriteNanos < stickyNanos;
+        }
+        return recentWrites.getIfPresent(key) != null;
+    }
+
+    public List<SessionFactory> getSessionFactories() {
+        List<SessionFactory> sessionFactories = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            sessionFactories.add(replica.getSessionFactory());
+        }
+        return sessionFactories;
+    }
+
+    public static final class Replica {
+
+        // Weight of the newest sample in the moving average.
+        private static final double ALPHA = 0.2;
+
+        private final SessionFactory sessionFactory;
+        private volatile double latencyNanos;
+        private volatile long unhealthyUntilNanos;
+        private volatile boolean unhealthy;
+
+        private Replica(SessionFactory sessionFactory) {
+            this.sessionFactory = sessionFactory;
+        }
+
+        public SessionFactory getSessionFactory() {
+            return sessionFactory;
+        }
+
+        // Races between readers only lose a sample, which an average can afford.
+        public void recordLatency(long nanos) {
+            double previous = latencyNanos;
+            latencyNanos = previous == 0 ? nanos : previous + ALPHA * (nanos - previous);
+            unhealthy = false;
+        }
+
+        // Takes the replica out of rotation for UNHEALTHY_MILLIS.
+        public void recordFailure() {
+            unhealthyUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(UNHEALTHY_MILLIS);
+            unhealthy = true;
+        }
+
+        public double getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        boolean isHealthy(long now) {
+            return !unhealthy || now - unhealthyUntilNanos >= 0;
+        }
+    }
+}
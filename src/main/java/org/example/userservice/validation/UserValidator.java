@@ -0,0 +1,44 @@
+package org.example.userservice.validation;
+
+import org.example.userservice.exception.ValidationException;
+
+import java.util.List;
+
+public class UserValidator {
+
+    private final ValidationRule[] rules;
+
+    public UserValidator(List<ValidationRule> rules) {
+        this.rules = rules.toArray(new ValidationRule[0]);
+    }
+
+    public static UserValidator defaults() {
+        return new UserValidator(List.of(
+                ValidationRules.nameRequired(),
+                ValidationRules.nameLength(ValidationRules.MAX_NAME_LENGTH),
+                ValidationRules.emailRequired(),
+                ValidationRules.emailSyntax(ValidationRules.MAX_EMAIL_LENGTH),
+                ValidationRules.ageRange(ValidationRules.MIN_AGE, ValidationRules.MAX_AGE)));
+    }
+
+    public void validate(String name, String email, Integer age) {
+        String violation = firstViolation(name, email, age);
+        if (violation != null) {
+            throw new ValidationException(violation);
+        }
+    }
+
+    public String firstViolation(String name, String email, Integer age) {
+        for (ValidationRule rule : rules) {
+            String violation = rule.check(name, email, age);
+            if (violation != null) {
+                return violation;
+            }
+        }
+        return null;
+    }
+
+    public boolean isValid(String name, String email, Integer age) {
+        return firstViolation(name, email, age) == null;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.userservice.validation;
+
+@FunctionalInterface
+public interface ValidationRule {
+
+    // Returns the violation message, or null when the values pass this rule.
+    String check(String name, String email, Integer age);
+}
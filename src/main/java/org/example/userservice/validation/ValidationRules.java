@@ -0,0 +1,86 @@
+package org.example.userservice.validation;
+
+public final class ValidationRules {
+
+    public static final int MAX_NAME_LENGTH = 100;
+    public static final int MAX_EMAIL_LENGTH = 255;
+    public static final int MIN_AGE = 0;
+    public static final int MAX_AGE = 150;
+
+    private ValidationRules() {
+    }
+
+    public static ValidationRule nameRequired() {
+        return (name, email, age) -> isBlank(name) ? "Name cannot be empty" : null;
+    }
+
+    public static ValidationRule nameLength(int maxLength) {
+        String message = "Name must be at most " + maxLength + " characters";
+        return (name, email, age) -> name != null && name.length() > maxLength ? message : null;
+    }
+
+    public static ValidationRule emailRequired() {
+        return (name, email, age) -> isBlank(email) ? "Email cannot be empty" : null;
+    }
+
+    public static ValidationRule emailSyntax(int maxLength) {
+        String lengthMessage = "Email must be at most " + maxLength + " characters";
+        return (name, email, age) -> {
+            if (email == null) {
+                return null;
+            }
+            if (email.length() > maxLength) {
+                return lengthMessage;
+            }
+            return isValidEmail(email) ? null : "Invalid email format";
+        };
+    }
+
+    public static ValidationRule ageRange(int min, int max) {
+        String message = "Age must be between " + min + " and " + max;
+        return (name, email, age) -> age != null && (age < min || age > max) ? message : null;
+    }
+
+    // Same semantics as String.trim().isEmpty() without the copy.
+    public static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hand-written equivalent of ^[A-Za-z0-9+_.-]+@(.+)$: a non-empty local part from the allowed set,
+    // an '@', then at least one character that is not a line terminator.
+    public static boolean isValidEmail(String email) {
+        int length = email.length();
+        int at = 0;
+        while (at < length && isLocalPartChar(email.charAt(at))) {
+            at++;
+        }
+        if (at == 0 || at == length || email.charAt(at) != '@' || at + 1 == length) {
+            return false;
+        }
+        for (int i = at + 1; i < length; i++) {
+            if (isLineTerminator(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalPartChar(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
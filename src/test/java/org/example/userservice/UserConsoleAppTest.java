@@ -1,5 +1,6 @@
 package org.example.userservice;
 
+import org.example.userservice.dao.UserSummary;
 import org.example.userservice.entity.User;
 import org.example.userservice.exception.EmailAlreadyExistsException;
 import org.example.userservice.exception.UserNotFoundException;
@@ -19,6 +20,7 @@ import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -195,11 +197,15 @@ class UserConsoleAppTest {
 
     @Test
     void getAllUsers_ShouldDisplayUsers() {
-        List<User> users = Arrays.asList(
-                createMockUser(1L, "User 1", "user1@test.com", 25),
-                createMockUser(2L, "User 2", "user2@test.com", 30)
+        List<UserSummary> users = Arrays.asList(
+                new UserSummary(1L, "User 1", "user1@test.com"),
+                new UserSummary(2L, "User 2", "user2@test.com")
         );
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.forEachUserSummary(any())).thenAnswer(invocation -> {
+            Consumer<UserSummary> consumer = invocation.getArgument(0);
+            users.forEach(consumer);
+            return (long) users.size();
+        });
         setInput("");
         app = new UserConsoleApp(userService, scanner);
 
@@ -207,12 +213,15 @@ class UserConsoleAppTest {
 
         String output = outputStream.toString();
         assertTrue(output.contains("Total users: 2"));
-        verify(userService).getAllUsers();
+        assertTrue(output.contains("1. UserSummary{id=1, name='User 1', email='user1@test.com'}"));
+        verify(userService).forEachUserSummary(any());
+        verify(userService, never()).forEachUser(any());
+        verify(userService, never()).getAllUsers();
     }
 
     @Test
     void getAllUsers_EmptyList_ShouldDisplayNoUsers() {
-        when(userService.getAllUsers()).thenReturn(Arrays.asList());
+        when(userService.forEachUserSummary(any())).thenReturn(0L);
         setInput("");
         app = new UserConsoleApp(userService, scanner);
 
@@ -220,7 +229,7 @@ class UserConsoleAppTest {
 
         String output = outputStream.toString();
         assertTrue(output.contains("No users found"));
-        verify(userService).getAllUsers();
+        verify(userService).forEachUserSummary(any());
     }
 
     @Test
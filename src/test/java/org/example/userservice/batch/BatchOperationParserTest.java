@@ -0,0 +1,65 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchOperationParserTest {
+
+    @Test
+    void parse_WithCsvLine_ShouldReadAllFields() {
+        BatchOperation operation = BatchOperationParser.parse(3, "update,7,\"Doe, John\",john@example.com,30");
+
+        assertEquals(3, operation.getLine());
+        assertEquals(BatchOperation.Type.UPDATE, operation.getType());
+        assertEquals(7L, operation.getId());
+        assertEquals("Doe, John", operation.getName());
+        assertEquals("john@example.com", operation.getEmail());
+        assertEquals(30, operation.getAge());
+    }
+
+    @Test
+    void parse_WithCsvEmptyFields_ShouldTreatThemAsAbsent() {
+        BatchOperation operation = BatchOperationParser.parse(1, "create,,John,john@example.com,");
+
+        assertEquals(BatchOperation.Type.CREATE, operation.getType());
+        assertNull(operation.getId());
+        assertNull(operation.getAge());
+    }
+
+    @Test
+    void parse_WithNdjsonLine_ShouldReadAllFields() {
+        BatchOperation operation = BatchOperationParser.parse(2,
+                "{\"op\": \"find-by-email\", \"email\": \"john@example.com\"}");
+
+        assertEquals(BatchOperation.Type.FIND_BY_EMAIL, operation.getType());
+        assertEquals("john@example.com", operation.getEmail());
+        assertNull(operation.getId());
+    }
+
+    @Test
+    void parse_WithBlankCommentOrHeader_ShouldReturnNull() {
+        assertNull(BatchOperationParser.parse(1, "   "));
+        assertNull(BatchOperationParser.parse(1, "# seed data"));
+        assertNull(BatchOperationParser.parse(1, "operation,id,name,email,age"));
+    }
+
+    @Test
+    void parse_WithInvalidLine_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "upsert,1"));
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "get,abc"));
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "delete"));
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "create,,\"John,x@y.z"));
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "{\"op\": \"get\", \"id\": \"1\"}"));
+        assertThrows(ValidationException.class, () -> BatchOperationParser.parse(1, "{\"op\": \"create\", \"age\": 9999999999}"));
+    }
+
+    @Test
+    void splitCsv_ShouldUnescapeDoubledQuotes() {
+        assertEquals(Arrays.asList("create", "", "Say \"hi\"", "a@b.c"),
+                BatchOperationParser.splitCsv("create,,\"Say \"\"hi\"\"\",a@b.c"));
+    }
+}
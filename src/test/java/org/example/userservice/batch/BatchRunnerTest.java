@@ -0,0 +1,175 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchRunnerTest {
+
+    @Mock
+    private UserService userService;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private BatchRunner runner;
+
+    @AfterEach
+    void tearDown() {
+        runner.close();
+    }
+
+    @Test
+    void run_ShouldSendConsecutiveWritesAsBulkCalls() throws Exception {
+        runner = newRunner(1, 10);
+        when(userService.deleteUsers(anyList())).thenReturn(Collections.emptyList());
+
+        BatchSummary summary = run("operation,id,name,email,age\n"
+                + "create,,John,john@example.com,30\n"
+                + "{\"op\":\"create\",\"name\":\"Jane\",\"email\":\"jane@example.com\"}\n"
+                + "update,1,John,john@example.com,31\n"
+                + "update,2,Jane,jane@example.com,\n"
+                + "delete,3\n"
+                + "delete,4\n");
+
+        verify(userService).createUsers(argThat(users -> users.size() == 2));
+        verify(userService).updateAll(argThat(updates -> updates.size() == 2));
+        verify(userService).deleteUsers(List.of(3L, 4L));
+        verify(userService, never()).createUser(any(), any(), any());
+        assertEquals(6, summary.getOperations());
+        assertEquals(0, summary.getFailures());
+    }
+
+    @Test
+    void run_WhenBulkCallFails_ShouldReplayOneByOneAndReportFailingLine() throws Exception {
+        runner = newRunner(1, 10);
+        when(userService.createUsers(anyList())).thenThrow(new RuntimeException("batch rejected"));
+        when(userService.createUser("John", "john@example.com", 30)).thenReturn(new User("John", "john@example.com", 30));
+        when(userService.createUser("Jane", "jane@example.com", null))
+                .thenThrow(new EmailAlreadyExistsException("jane@example.com"));
+
+        BatchSummary summary = run("create,,John,john@example.com,30\ncreate,,Jane,jane@example.com,\n");
+
+        assertEquals(2, summary.getOperations());
+        assertEquals(1, summary.getFailures());
+        assertTrue(output.toString().contains("Line 2 (create): Email already exists: jane@example.com"));
+    }
+
+    @Test
+    void run_WhenBulkCreateFailsAfterCommittingSomeRows_ShouldReplayOnlyUnsavedRows() throws Exception {
+        runner = newRunner(1, 10);
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.get(0).setId(1L);
+            throw new RuntimeException("Error saving batch of 1 users");
+        });
+        when(userService.createUser("Jane", "jane@example.com", null))
+                .thenThrow(new EmailAlreadyExistsException("jane@example.com"));
+
+        BatchSummary summary = run("create,,John,john@example.com,30\ncreate,,Jane,jane@example.com,\n");
+
+        verify(userService, never()).createUser(eq("John"), any(), any());
+        assertEquals(2, summary.getOperations());
+        assertEquals(1, summary.getFailures());
+        assertFalse(output.toString().contains("Line 1"));
+    }
+
+    @Test
+    void run_ShouldReportUnknownIdsAndUnparseableLines() throws Exception {
+        runner = newRunner(1, 10);
+        when(userService.deleteUsers(List.of(1L, 2L))).thenReturn(List.of(2L));
+        when(userService.getUserById(5L)).thenThrow(new UserNotFoundException(5L));
+
+        BatchSummary summary = run("delete,1\ndelete,2\nbogus\nget,5\n");
+
+        String printed = output.toString();
+        assertTrue(printed.contains("Line 2 (delete): User not found with id: 2"));
+        assertTrue(printed.contains("Line 3: Unknown operation: bogus"));
+        assertTrue(printed.contains("Line 4 (get): User not found with id: 5"));
+        assertEquals(4, summary.getOperations());
+        assertEquals(3, summary.getFailures());
+    }
+
+    @Test
+    void run_WithParallelChunks_ShouldProcessEveryOperation() throws Exception {
+        runner = newRunner(4, 3);
+        User user = new User("John Doe", "john@example.com", 30);
+        when(userService.getUserByEmail("john@example.com")).thenReturn(user);
+
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            input.append("find-by-email,,,john@example.com,\n");
+        }
+        BatchSummary summary = run(input.toString());
+
+        verify(userService, times(100)).getUserByEmail("john@example.com");
+        assertEquals(100, summary.getOperations());
+        assertEquals(100, summary.getSucceeded());
+        assertTrue(summary.getLatencyMillis(50) <= summary.getLatencyMillis(100));
+    }
+
+    @Test
+    void run_WithDefaultParallelism_ShouldApplyOperationsInFileOrder() throws Exception {
+        runner = newRunner(BatchRunner.DEFAULT_PARALLELISM, 1);
+
+        BatchSummary summary = run("create,,John,john@example.com,30\nupdate,1,Johnny,john@example.com,31\ndelete,1\n");
+
+        InOrder order = inOrder(userService);
+        order.verify(userService).createUser("John", "john@example.com", 30);
+        order.verify(userService).updateUser(1L, "Johnny", "john@example.com", 31);
+        order.verify(userService).deleteUser(1L);
+        assertEquals(3, summary.getSucceeded());
+    }
+
+    @Test
+    void summary_ShouldPrintThroughputAndLatency() throws Exception {
+        runner = newRunner(1, 10);
+
+        run("update,1,John,john@example.com,30\n").print(new PrintStream(output));
+
+        String printed = output.toString();
+        assertTrue(printed.contains("Operations: 1 (1 succeeded, 0 failed)"));
+        assertTrue(printed.contains("Throughput:"));
+        assertTrue(printed.contains("Latency (ms): p50="));
+        verify(userService).updateUser(1L, "John", "john@example.com", 30);
+        verify(userService, never()).updateAll(anyList());
+    }
+
+    @Test
+    void constructor_WithInvalidSettings_ShouldThrow() {
+        runner = newRunner(1, 1);
+        PrintStream out = new PrintStream(output);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchRunner(userService, 0, 10, out, Executors.newSingleThreadExecutor()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchRunner(userService, 1, 0, out, Executors.newSingleThreadExecutor()));
+    }
+
+    private BatchRunner newRunner(int parallelism, int chunkSize) {
+        return new BatchRunner(userService, parallelism, chunkSize, new PrintStream(output, true),
+                Executors.newFixedThreadPool(parallelism));
+    }
+
+    private BatchSummary run(String input) throws Exception {
+        return runner.run(new BufferedReader(new StringReader(input)));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.dao.UserDAO;
+import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.entity.User;
+import org.example.userservice.http.JsonReader;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserExporterIntegrationTest {
+
+    private SessionFactory sessionFactory;
+    private UserDAO userDAO;
+    private UserExporter exporter;
+
+    @BeforeAll
+    void setUp() {
+        sessionFactory = new Configuration().configure("hibernate-test.cfg.xml").buildSessionFactory();
+        userDAO = new UserDAOImpl(sessionFactory);
+        exporter = new UserExporter(sessionFactory);
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void clearDatabase() {
+        userDAO.deleteAll(userDAO.findAll().stream().map(User::getId).toList());
+    }
+
+    @Test
+    void exportTo_Csv_ShouldQuoteTextAndLeaveMissingAgeEmpty() throws Exception {
+        User john = save("Doe, \"Johnny\"", "john@example.com", 30);
+        User jane = save("Jane", "jane@example.com", null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportTo(out, UserExporter.Format.CSV);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        assertEquals(List.of(UserExporter.CSV_HEADER,
+                john.getId() + ",\"Doe, \"\"Johnny\"\"\",\"john@example.com\",30,2024-01-02T03:04:05.000000",
+                jane.getId() + ",\"Jane\",\"jane@example.com\",,2024-01-02T03:04:05.000000"), lines);
+    }
+
+    @Test
+    void exportTo_NdjsonFile_ShouldWriteOneObjectPerLine(@TempDir Path directory) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            save("User " + i, "user" + i + "@example.com", i % 2 == 0 ? i : null);
+        }
+        Path file = directory.resolve("users.ndjson");
+        Files.writeString(file, "stale content that must be truncated away, longer than nothing");
+
+        long rows = exporter.exportTo(file, UserExporter.Format.NDJSON);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(20, rows);
+        assertEquals(20, lines.size());
+        Map<String, Object> first = JsonReader.readObject(lines.get(0));
+        assertEquals("User 0", first.get("name"));
+        assertEquals(0L, first.get("age"));
+        assertEquals("2024-01-02T03:04:05.000000", first.get("createdAt"));
+        assertNull(JsonReader.readObject(lines.get(1)).get("age"));
+    }
+
+    private User save(String name, String email, Integer age) {
+        User user = new User(name, email, age);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return userDAO.save(user);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.userservice.batch;
+
+import org.example.userservice.dao.UserDAO;
+import org.example.userservice.dao.UserDAOImpl;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.validation.UserValidator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserImporterIntegrationTest {
+
+    private SessionFactory sessionFactory;
+    private UserDAO userDAO;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @BeforeAll
+    void setUp() {
+        sessionFactory = new Configuration().configure("hibernate-test.cfg.xml").buildSessionFactory();
+        userDAO = new UserDAOImpl(sessionFactory);
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    @BeforeEach
+    void clearDatabase() {
+        userDAO.deleteAll(userDAO.findAll().stream().map(User::getId).toList());
+        output.reset();
+    }
+
+    @Test
+    void importFrom_ShouldLoadValidRowsAndSkipRejectedOnes() throws Exception {
+        userDAO.save(new User("Existing", "existing@example.com", 40));
+        UserImporter importer = newImporter(2);
+
+        ImportResult result = importer.importFrom(reader("name,email,age\n"
+                + "John Doe,john@example.com,30\n"
+                + "{\"name\": \"Jane \\\"JJ\\\" Smith\", \"email\": \"jane@example.com\"}\n"
+                + "Bad Email,not-an-email,20\n"
+                + "John Again,john@example.com,31\n"
+                + "Existing,existing@example.com,40\n"
+                + "Broken,broken@example.com,abc\n"
+                + "\"Doe, Jim\",jim@example.com,\n"));
+
+        assertEquals(7, result.getRows());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getInvalid());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(1, result.getExisting());
+        assertEquals("Jane \"JJ\" Smith", userDAO.findByEmail("jane@example.com").orElseThrow().getName());
+        assertEquals(30, userDAO.findByEmail("john@example.com").orElseThrow().getAge());
+        assertNull(userDAO.findByEmail("jim@example.com").orElseThrow().getAge());
+        assertTrue(output.toString().contains("Line 4: "));
+        assertTrue(output.toString().contains("Line 7: Field 'age' must be an integer"));
+    }
+
+    @Test
+    void importFrom_ShouldAllocateIdsThatDoNotCollideWithHibernate() throws Exception {
+        userDAO.save(new User("Before", "before@example.com", 20));
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            input.append("User ").append(i).append(",user").append(i).append("@example.com,").append(i % 100).append('\n');
+        }
+
+        ImportResult result = newImporter(7).importFrom(reader(input.toString()));
+        User after = userDAO.save(new User("After", "after@example.com", 20));
+
+        assertEquals(120, result.getImported());
+        List<User> users = userDAO.findAll();
+        assertEquals(122, users.size());
+        Set<Long> ids = new HashSet<>();
+        users.forEach(user -> assertTrue(ids.add(user.getId())));
+        assertTrue(ids.contains(after.getId()));
+    }
+
+    @Test
+    void parseRow_ShouldRejectMalformedLines() {
+        assertNull(UserImporter.parseRow(1, "Name,Email,Age"));
+        assertNull(UserImporter.parseRow(2, "  "));
+        assertThrows(ValidationException.class, () -> UserImporter.parseRow(2, "a,b@c.d,1,extra"));
+        assertThrows(ValidationException.class, () -> UserImporter.parseRow(2, "{\"name\": 5}"));
+    }
+
+    private UserImporter newImporter(int batchSize) {
+        return new UserImporter(sessionFactory, UserValidator.defaults(), batchSize, 4, new PrintStream(output, true));
+    }
+
+    private static BufferedReader reader(String input) {
+        return new BufferedReader(new StringReader(input));
+    }
+}
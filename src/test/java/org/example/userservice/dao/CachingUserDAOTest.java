@@ -0,0 +1,217 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserDAOTest {
+
+    @Mock
+    private UserDAO delegate;
+
+    private CachingUserDAO userDAO;
+
+    @BeforeEach
+    void setUp() {
+        userDAO = new CachingUserDAO(delegate, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void findById_ShouldHitDelegateOnlyOnce() {
+        User user = createUser(1L, "john@example.com");
+        when(delegate.findById(1L)).thenReturn(Optional.of(user));
+
+        Optional<User> first = userDAO.findById(1L);
+        Optional<User> second = userDAO.findById(1L);
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals("john@example.com", second.get().getEmail());
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, userDAO.getStats().hitCount());
+    }
+
+    @Test
+    void findById_ShouldReturnCopiesThatDoNotLeakMutations() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(createUser(1L, "john@example.com")));
+        userDAO.findById(1L);
+
+        userDAO.findById(1L).get().setEmail("mutated@example.com");
+
+        assertEquals("john@example.com", userDAO.findById(1L).get().getEmail());
+    }
+
+    @Test
+    void findByEmail_ShouldBeServedFromCacheAfterFindById() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(createUser(1L, "john@example.com")));
+        userDAO.findById(1L);
+
+        Optional<User> result = userDAO.findByEmail("john@example.com");
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        verify(delegate, never()).findByEmail(any());
+    }
+
+    @Test
+    void existsByEmail_ShouldCacheNegativeResults() {
+        when(delegate.existsByEmail("new@example.com")).thenReturn(false);
+
+        assertFalse(userDAO.existsByEmail("new@example.com"));
+        assertFalse(userDAO.existsByEmail("new@example.com"));
+
+        verify(delegate, times(1)).existsByEmail("new@example.com");
+        assertEquals(1, userDAO.getNegativeStats().hitCount());
+    }
+
+    @Test
+    void existsByEmail_ShouldNotCachePositiveResultsWithoutUser() {
+        when(delegate.existsByEmail("taken@example.com")).thenReturn(true);
+
+        assertTrue(userDAO.existsByEmail("taken@example.com"));
+        assertTrue(userDAO.existsByEmail("taken@example.com"));
+
+        verify(delegate, times(2)).existsByEmail("taken@example.com");
+    }
+
+    @Test
+    void save_ShouldClearNegativeEntryForEmail() {
+        User user = createUser(null, "new@example.com");
+        when(delegate.existsByEmail("new@example.com")).thenReturn(false);
+        when(delegate.save(user)).thenAnswer(invocation -> {
+            user.setId(5L);
+            return user;
+        });
+        userDAO.existsByEmail("new@example.com");
+
+        userDAO.save(user);
+
+        assertTrue(userDAO.existsByEmail("new@example.com"));
+        assertEquals(5L, userDAO.findByEmail("new@example.com").get().getId());
+        verify(delegate, times(1)).existsByEmail("new@example.com");
+    }
+
+    @Test
+    void update_ShouldEvictOldEmailMapping() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(createUser(1L, "old@example.com")));
+        when(delegate.findByEmail("old@example.com")).thenReturn(Optional.empty());
+        userDAO.findById(1L);
+
+        User changed = createUser(1L, "new@example.com");
+        when(delegate.update(changed)).thenReturn(changed);
+        userDAO.update(changed);
+
+        assertFalse(userDAO.findByEmail("old@example.com").isPresent());
+        verify(delegate).findByEmail("old@example.com");
+    }
+
+    @Test
+    void update_AfterByIdEntryWasEvicted_ShouldStillEvictOldEmail() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(createUser(1L, "old@example.com")));
+        when(delegate.findByEmail("old@example.com")).thenReturn(Optional.empty());
+        userDAO.findById(1L);
+        userDAO.evictIdEntry(1L);
+
+        User changed = createUser(1L, "new@example.com");
+        when(delegate.update(changed)).thenReturn(changed);
+        userDAO.update(changed);
+
+        assertFalse(userDAO.findByEmail("old@example.com").isPresent());
+        assertFalse(userDAO.existsByEmail("old@example.com"));
+    }
+
+    @Test
+    void findById_WhenUpdateRacesTheLoad_ShouldNotCacheTheOldRow() {
+        User changed = createUser(1L, "new@example.com");
+        when(delegate.update(changed)).thenReturn(changed);
+        when(delegate.findById(1L))
+                .thenAnswer(invocation -> {
+                    userDAO.update(changed);
+                    return Optional.of(createUser(1L, "old@example.com"));
+                })
+                .thenReturn(Optional.of(changed));
+
+        userDAO.findById(1L);
+
+        assertEquals("new@example.com", userDAO.findById(1L).orElseThrow().getEmail());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void updateAll_ShouldEvictEveryUpdatedUser() {
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(createUser(1L, "old@example.com")))
+                .thenReturn(Optional.of(createUser(1L, "new@example.com")));
+        userDAO.findById(1L);
+
+        userDAO.updateAll(List.of(new UserUpdate(1L, "John Doe", "new@example.com", 30)));
+
+        assertEquals("new@example.com", userDAO.findById(1L).get().getEmail());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void delete_ShouldEvictCachedUser() {
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(createUser(1L, "john@example.com")))
+                .thenReturn(Optional.empty());
+        userDAO.findById(1L);
+
+        userDAO.delete(1L);
+
+        assertFalse(userDAO.findById(1L).isPresent());
+        verify(delegate).delete(1L);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void deleteAll_ShouldEvictDeletedUsers() {
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(createUser(1L, "john@example.com")))
+                .thenReturn(Optional.empty());
+        when(delegate.deleteAll(List.of(1L, 2L))).thenReturn(List.of(2L));
+        userDAO.findById(1L);
+
+        List<Long> notFound = userDAO.deleteAll(List.of(1L, 2L));
+
+        assertEquals(List.of(2L), notFound);
+        assertFalse(userDAO.findById(1L).isPresent());
+    }
+
+    @Test
+    void findAll_ShouldAlwaysDelegate() {
+        userDAO.findAll();
+        userDAO.findAll();
+
+        verify(delegate, times(2)).findAll();
+    }
+
+    @Test
+    void summaries_ShouldAlwaysDelegate() {
+        Consumer<UserSummary> consumer = user -> { };
+        userDAO.findSummaryPage(null, 10);
+        userDAO.streamSummaries(consumer);
+
+        verify(delegate).findSummaryPage(null, 10);
+        verify(delegate).streamSummaries(consumer);
+    }
+
+    private User createUser(Long id, String email) {
+        User user = new User("John Doe", email, 30);
+        user.setId(id);
+        return user;
+    }
+}
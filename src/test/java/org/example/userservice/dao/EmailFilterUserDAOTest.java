@@ -0,0 +1,160 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailFilterUserDAOTest {
+
+    @Mock
+    private UserDAO delegate;
+
+    private EmailFilterUserDAO userDAO;
+
+    @BeforeEach
+    void setUp() {
+        userDAO = new EmailFilterUserDAO(delegate, 1_000, 0.01);
+    }
+
+    @Test
+    void existsByEmail_BeforeRebuild_ShouldQueryDelegate() {
+        when(delegate.existsByEmail("john@example.com")).thenReturn(true);
+
+        assertTrue(userDAO.existsByEmail("john@example.com"));
+        assertFalse(userDAO.isLoaded());
+    }
+
+    @Test
+    void existsByEmail_ForUnknownEmail_ShouldSkipDelegate() {
+        stubScan("john@example.com");
+        userDAO.rebuild();
+
+        assertFalse(userDAO.existsByEmail("fresh@example.com"));
+
+        verify(delegate, never()).existsByEmail(any());
+        assertEquals(1, userDAO.getShortCircuitCount());
+    }
+
+    @Test
+    void existsByEmail_ForLoadedEmail_ShouldAskDelegate() {
+        stubScan("john@example.com");
+        userDAO.rebuild();
+        when(delegate.existsByEmail("john@example.com")).thenReturn(true);
+
+        assertTrue(userDAO.existsByEmail("john@example.com"));
+    }
+
+    @Test
+    void save_ShouldAddEmailToFilter() {
+        stubScan();
+        userDAO.rebuild();
+        User user = new User("Jane", "jane@example.com", 25);
+        when(delegate.save(user)).thenReturn(user);
+        when(delegate.existsByEmail("jane@example.com")).thenReturn(true);
+
+        userDAO.save(user);
+
+        assertTrue(userDAO.existsByEmail("jane@example.com"));
+    }
+
+    @Test
+    void updateAll_ShouldAddNewEmailsToFilter() {
+        stubScan();
+        userDAO.rebuild();
+        List<UserUpdate> updates = List.of(new UserUpdate(1L, "Jane", "jane-new@example.com", 25));
+        when(delegate.updateAll(updates)).thenReturn(List.of());
+        when(delegate.existsByEmail("jane-new@example.com")).thenReturn(true);
+
+        userDAO.updateAll(updates);
+
+        assertTrue(userDAO.existsByEmail("jane-new@example.com"));
+    }
+
+    @Test
+    void rebuild_WhenScanFails_ShouldKeepQueryingDelegate() {
+        when(delegate.streamSummaries(any())).thenThrow(new RuntimeException("Error streaming user summaries"));
+        when(delegate.existsByEmail("john@example.com")).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> userDAO.rebuild());
+
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        verify(delegate).existsByEmail("john@example.com");
+    }
+
+    @Test
+    void rebuild_WithMoreRowsThanExpected_ShouldSizeFilterFromCount() {
+        String[] emails = emails(2_500);
+        when(delegate.count()).thenReturn(2_500L);
+        stubScan(emails);
+
+        assertEquals(2_500, userDAO.rebuild());
+
+        assertTrue(userDAO.isLoaded());
+        verify(delegate, times(1)).streamSummaries(any());
+    }
+
+    @Test
+    void rebuild_WhenTableGrowsPastCountDuringScan_ShouldResizeFilter() {
+        String[] emails = emails(2_500);
+        when(delegate.count()).thenReturn(100L);
+        stubScan(emails);
+
+        assertEquals(2_500, userDAO.rebuild());
+
+        assertTrue(userDAO.isLoaded());
+        verify(delegate, times(2)).streamSummaries(any());
+    }
+
+    @Test
+    void rebuildInBackground_ShouldLoadFilterOffTheCallingThread() throws Exception {
+        stubScan("john@example.com");
+
+        assertEquals(1L, userDAO.rebuildInBackground().get(5, TimeUnit.SECONDS));
+
+        assertTrue(userDAO.isLoaded());
+        assertFalse(userDAO.existsByEmail("fresh@example.com"));
+    }
+
+    @Test
+    void rebuildInBackground_WhenScanFails_ShouldCompleteExceptionally() {
+        when(delegate.streamSummaries(any())).thenThrow(new RuntimeException("Error streaming user summaries"));
+
+        CompletableFuture<Long> result = userDAO.rebuildInBackground();
+
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertFalse(userDAO.isLoaded());
+    }
+
+    private static String[] emails(int count) {
+        String[] emails = new String[count];
+        for (int i = 0; i < count; i++) {
+            emails[i] = "user" + i + "@example.com";
+        }
+        return emails;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubScan(String... emails) {
+        when(delegate.streamSummaries(any())).thenAnswer(invocation -> {
+            Consumer<UserSummary> consumer = invocation.getArgument(0);
+            for (int i = 0; i < emails.length; i++) {
+                consumer.accept(new UserSummary((long) i + 1, "User " + i, emails[i]));
+            }
+            return (long) emails.length;
+        });
+    }
+}
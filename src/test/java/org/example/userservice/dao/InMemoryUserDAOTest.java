@@ -0,0 +1,206 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserDAOTest extends UserDAOContractTest {
+
+    private InMemoryUserDAO userDAO;
+
+    @Override
+    protected InMemoryUserDAO createUserDAO() {
+        return new InMemoryUserDAO(4, 16);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userDAO = createUserDAO();
+    }
+
+    @Test
+    void save_ShouldAssignIdAndBeFoundByIdAndEmail() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        assertEquals(1L, saved.getId());
+        assertEquals("John", userDAO.findById(1L).orElseThrow().getName());
+        assertEquals(1L, userDAO.findByEmail("john@example.com").orElseThrow().getId());
+        assertTrue(userDAO.existsByEmail("john@example.com"));
+        assertFalse(userDAO.existsByEmail("jane@example.com"));
+    }
+
+    @Test
+    void save_WithDuplicateEmail_ShouldThrowEmailAlreadyExistsException() {
+        userDAO.save(new User("First", "duplicate@example.com", 30));
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+                () -> userDAO.save(new User("Second", "duplicate@example.com", 31)));
+
+        assertEquals("Email already exists: duplicate@example.com", exception.getMessage());
+        assertEquals(1, userDAO.size());
+    }
+
+    @Test
+    void findById_ShouldReturnCopiesThatDoNotLeakMutations() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        userDAO.findById(saved.getId()).orElseThrow().setName("Mutated");
+        saved.setName("Also mutated");
+
+        assertEquals("John", userDAO.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void saveAll_WithTakenEmail_ShouldSaveNothing() {
+        userDAO.save(new User("Existing", "taken@example.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.saveAll(List.of(
+                new User("A", "a@example.com", 20),
+                new User("B", "taken@example.com", 21))));
+
+        assertFalse(userDAO.existsByEmail("a@example.com"));
+        assertEquals(1, userDAO.size());
+    }
+
+    @Test
+    void findPage_ShouldWalkIdsInOrderAcrossDeletes() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        userDAO.saveAll(users);
+        userDAO.deleteAll(List.of(2L, 3L, 7L));
+
+        Page<User> first = userDAO.findPage(null, 3);
+        Page<UserSummary> second = userDAO.findSummaryPage(first.getNextCursor(), 3);
+        Page<User> last = userDAO.findPage(second.getNextCursor(), 3);
+
+        assertEquals(List.of(1L, 4L, 5L), first.getItems().stream().map(User::getId).toList());
+        assertEquals(5L, first.getNextCursor());
+        assertEquals(List.of(6L, 8L, 9L), second.getItems().stream().map(UserSummary::getId).toList());
+        assertEquals(List.of(10L), last.getItems().stream().map(User::getId).toList());
+        assertFalse(last.hasMore());
+        assertEquals(7, userDAO.streamAll(user -> { }));
+        assertEquals(7, userDAO.findAll().size());
+    }
+
+    @Test
+    void findPage_WithCursorAtOrPastLastId_ShouldReturnEmptyPage() {
+        userDAO.save(new User("John", "john@example.com", 30));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertTrue(userDAO.findPage(Long.MAX_VALUE, 10).getItems().isEmpty());
+            assertTrue(userDAO.findSummaryPage(Long.MAX_VALUE, 10).getItems().isEmpty());
+            assertFalse(userDAO.findPage(1L, 10).hasMore());
+            assertTrue(userDAO.findPage(1L, 10).getItems().isEmpty());
+        });
+        assertEquals(1, userDAO.findPage(Long.MIN_VALUE, 10).getItems().size());
+    }
+
+    @Test
+    void update_ShouldMoveEmailIndex() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        saved.setEmail("johnny@example.com");
+        userDAO.update(saved);
+
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertEquals("johnny@example.com", userDAO.findById(saved.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void update_WithTakenEmailOrUnknownId_ShouldThrow() {
+        userDAO.save(new User("First", "first@example.com", 20));
+        User second = userDAO.save(new User("Second", "second@example.com", 30));
+
+        second.setEmail("first@example.com");
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.update(second));
+        User unknown = new User("Ghost", "ghost@example.com", 40);
+        unknown.setId(99L);
+        assertThrows(UserNotFoundException.class, () -> userDAO.update(unknown));
+
+        assertEquals("second@example.com", userDAO.findById(second.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void updateAll_WithTakenEmail_ShouldRollBackEveryUpdate() {
+        User first = userDAO.save(new User("First", "first@example.com", 20));
+        User second = userDAO.save(new User("Second", "second@example.com", 30));
+        userDAO.save(new User("Third", "third@example.com", 40));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First Updated", "first-new@example.com", 21),
+                new UserUpdate(second.getId(), "Second Updated", "third@example.com", 31))));
+
+        assertEquals("First", userDAO.findById(first.getId()).orElseThrow().getName());
+        assertFalse(userDAO.existsByEmail("first-new@example.com"));
+    }
+
+    @Test
+    void updateAll_ShouldApplyEveryUpdate() {
+        User first = userDAO.save(new User("First", "first@example.com", 20));
+        User second = userDAO.save(new User("Second", "second@example.com", 30));
+
+        List<User> updated = userDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First Updated", "first-new@example.com", 21),
+                new UserUpdate(second.getId(), "Second Updated", "second@example.com", 31)));
+
+        assertEquals(2, updated.size());
+        assertTrue(userDAO.existsByEmail("first-new@example.com"));
+        assertFalse(userDAO.existsByEmail("first@example.com"));
+        assertEquals(31, userDAO.findByEmail("second@example.com").orElseThrow().getAge());
+    }
+
+    @Test
+    void delete_ShouldRemoveUserAndEmail() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        userDAO.delete(saved.getId());
+
+        assertEquals(Optional.empty(), userDAO.findById(saved.getId()));
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertThrows(UserNotFoundException.class, () -> userDAO.delete(saved.getId()));
+        assertEquals(List.of(saved.getId()), userDAO.deleteAll(List.of(saved.getId())));
+    }
+
+    @Test
+    void concurrentSavesAndReads_ShouldKeepIndexesConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        User user = userDAO.save(new User("User", "t" + thread + "-" + i + "@example.com", 30));
+                        assertTrue(userDAO.findById(user.getId()).isPresent());
+                        if (i % 2 == 0) {
+                            userDAO.delete(user.getId());
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(8_000, userDAO.size());
+        assertEquals(8_000, userDAO.streamSummaries(summary -> assertTrue(userDAO.existsByEmail(summary.getEmail()))));
+    }
+}
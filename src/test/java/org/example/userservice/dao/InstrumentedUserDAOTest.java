@@ -0,0 +1,55 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.metrics.MetricsRegistry;
+import org.example.userservice.metrics.OperationSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedUserDAOTest {
+
+    @Mock
+    private UserDAO delegate;
+
+    private MetricsRegistry metrics;
+    private InstrumentedUserDAO userDAO;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MetricsRegistry();
+        userDAO = new InstrumentedUserDAO(delegate, metrics);
+    }
+
+    @Test
+    void findById_ShouldDelegateAndRecordCall() {
+        User user = new User("John", "john@example.com", 30);
+        when(delegate.findById(1L)).thenReturn(Optional.of(user));
+
+        Optional<User> result = userDAO.findById(1L);
+
+        assertSame(user, result.orElseThrow());
+        OperationSnapshot snapshot = metrics.operation("dao.findById").snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(0, snapshot.getErrors());
+    }
+
+    @Test
+    void delete_ShouldRecordFailureAndRethrow() {
+        doThrow(new RuntimeException("Error deleting user")).when(delegate).delete(1L);
+
+        assertThrows(RuntimeException.class, () -> userDAO.delete(1L));
+
+        OperationSnapshot snapshot = metrics.operation("dao.delete").snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+    }
+}
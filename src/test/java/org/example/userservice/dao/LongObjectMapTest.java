@@ -0,0 +1,53 @@
+package org.example.userservice.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void putGetRemove_ShouldBehaveLikeAMap() {
+        LongObjectMap<String> map = new LongObjectMap<>(4);
+
+        assertNull(map.put(1L, "one"));
+        assertEquals("one", map.put(1L, "uno"));
+        assertEquals("uno", map.get(1L));
+        assertNull(map.get(2L));
+        assertEquals("uno", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void randomOperations_ShouldMatchHashMapAcrossResizesAndRemovals() {
+        LongObjectMap<Long> map = new LongObjectMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void put_WithNonPositiveKey_ShouldThrow() {
+        LongObjectMap<String> map = new LongObjectMap<>(4);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "zero"));
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLogUserDAOTest extends UserDAOContractTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<MappedLogUserDAO> opened = new ArrayList<>();
+
+    @Override
+    protected MappedLogUserDAO createUserDAO() {
+        return open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedLogUserDAO::close);
+    }
+
+    @Test
+    void reopen_ShouldReplayEveryOperation() {
+        MappedLogUserDAO userDAO = open();
+        userDAO.saveAll(List.of(
+                new User("John", "john@example.com", 30),
+                new User("Jane", "jane@example.com", null),
+                new User("Bob", "bob@example.com", 40)));
+        userDAO.updateAll(List.of(new UserUpdate(1L, "Johnny", "johnny@example.com", 31)));
+        userDAO.delete(3L);
+        User jane = userDAO.findById(2L).orElseThrow();
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open();
+
+        assertEquals(2, reopened.findAll().size());
+        assertEquals("Johnny", reopened.findByEmail("johnny@example.com").orElseThrow().getName());
+        assertFalse(reopened.existsByEmail("john@example.com"));
+        assertEquals(Optional.empty(), reopened.findById(3L));
+        User reopenedJane = reopened.findById(2L).orElseThrow();
+        assertNull(reopenedJane.getAge());
+        assertEquals(jane.getCreatedAt(), reopenedJane.getCreatedAt());
+        // Deleted ids are never handed out again.
+        assertEquals(4L, reopened.save(new User("Alice", "alice@example.com", 25)).getId());
+    }
+
+    @Test
+    void reopen_AfterEmailSwap_ShouldReplayTheSwap() {
+        MappedLogUserDAO userDAO = open();
+        userDAO.saveAll(List.of(
+                new User("John", "john@example.com", 30),
+                new User("Jane", "jane@example.com", 25)));
+        userDAO.updateAll(List.of(
+                new UserUpdate(1L, "John", "jane@example.com", 30),
+                new UserUpdate(2L, "Jane", "john@example.com", 25)));
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open();
+
+        assertEquals(1L, reopened.findByEmail("jane@example.com").orElseThrow().getId());
+        assertEquals(2L, reopened.findByEmail("john@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void snapshot_ShouldRecoverFromSnapshotPlusLogTail() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        for (int i = 0; i < 10; i++) {
+            userDAO.save(new User("User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        userDAO.delete(10L);
+        userDAO.snapshot();
+        userDAO.update(new User(1L, "Renamed", "renamed@example.com", 50, null));
+        userDAO.delete(2L);
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open();
+
+        assertEquals(8, reopened.findAll().size());
+        assertEquals(1L, reopened.findByEmail("renamed@example.com").orElseThrow().getId());
+        assertEquals(Optional.empty(), reopened.findById(2L));
+        assertEquals("User 8", reopened.findById(9L).orElseThrow().getName());
+        assertEquals(11L, reopened.save(new User("New", "new@example.com", 1)).getId());
+        assertEquals(List.of("snapshot-00000000000000000001.snap", "users-00000000000000000001.log"), files());
+    }
+
+    @Test
+    void reopen_WithTornTail_ShouldDropIncompleteRecordAndKeepAppending() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        userDAO.save(new User("John", "john@example.com", 30));
+        userDAO.save(new User("Jane", "jane@example.com", 25));
+        userDAO.close();
+        corruptLastRecord(directory.resolve("users-00000000000000000000.log"));
+
+        MappedLogUserDAO reopened = open();
+        assertTrue(reopened.existsByEmail("john@example.com"));
+        assertFalse(reopened.existsByEmail("jane@example.com"));
+        reopened.save(new User("Bob", "bob@example.com", 40));
+        reopened.close();
+
+        MappedLogUserDAO again = open();
+        assertEquals(List.of("john@example.com", "bob@example.com"),
+                again.findAll().stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    void saveAll_WithMoreOperationsThanOneRecordHolds_ShouldSplitAndReplayWholeBatch() {
+        MappedLogUserDAO userDAO = open(1 << 20);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", i % 100));
+        }
+        userDAO.saveAll(users);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 35_000; id++) {
+            ids.add(id);
+        }
+        userDAO.deleteAll(ids);
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open(1 << 20);
+
+        assertEquals(5_000, reopened.count());
+        assertEquals(Optional.empty(), reopened.findById(35_000L));
+        assertEquals("User 39999", reopened.findById(40_000L).orElseThrow().getName());
+    }
+
+    @Test
+    void reopen_WithBatchMissingItsEndRecord_ShouldDropThatBatch() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        userDAO.save(new User("John", "john@example.com", 30));
+        userDAO.close();
+        appendBeginOnlyRecord(new User(2L, "Torn", "torn@example.com", 1, LocalDateTime.now()));
+
+        MappedLogUserDAO reopened = open();
+        assertFalse(reopened.existsByEmail("torn@example.com"));
+        reopened.save(new User("Jane", "jane@example.com", 25));
+        reopened.close();
+
+        MappedLogUserDAO again = open();
+        assertEquals(List.of("john@example.com", "jane@example.com"),
+                again.findAll().stream().map(User::getEmail).toList());
+    }
+
+    @Test
+    void save_PastSegmentSize_ShouldRollAcrossSegments() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        for (int i = 0; i < 300; i++) {
+            userDAO.save(new User("User " + i, "user" + i + "@example.com", i));
+        }
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open();
+
+        assertTrue(files().size() > 3, "segments: " + files());
+        assertEquals(300, reopened.findAll().size());
+        assertEquals(300L, reopened.findByEmail("user299@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void snapshot_LargerThanReadBuffer_ShouldStreamBackOnReopen() {
+        MappedLogUserDAO userDAO = open();
+        for (int batch = 0; batch < 500; batch++) {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                int n = batch * 40 + i;
+                users.add(new User("User " + n, "user" + n + "@example.com", n % 90));
+            }
+            userDAO.saveAll(users);
+        }
+        userDAO.snapshot();
+        userDAO.close();
+
+        MappedLogUserDAO reopened = open();
+
+        assertEquals(20_000, reopened.findAll().size());
+        assertEquals("User 19999", reopened.findById(20_000L).orElseThrow().getName());
+        assertEquals(20_001L, reopened.save(new User("New", "new@example.com", 1)).getId());
+    }
+
+    @Test
+    void reopen_WithMissingSegment_ShouldRefuseToStart() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        for (int i = 0; i < 300; i++) {
+            userDAO.save(new User("User " + i, "user" + i + "@example.com", i));
+        }
+        userDAO.close();
+        Files.delete(directory.resolve("users-00000000000000000001.log"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, this::open);
+
+        assertTrue(exception.getCause().getMessage().contains("users-00000000000000000001.log"));
+    }
+
+    @Test
+    void reopen_WhenSegmentsSnapshotCoversAreGoneAndSnapshotIsCorrupt_ShouldRefuseToStart() throws IOException {
+        MappedLogUserDAO userDAO = open();
+        userDAO.save(new User("John", "john@example.com", 30));
+        userDAO.snapshot();
+        userDAO.save(new User("Jane", "jane@example.com", 25));
+        userDAO.close();
+        Path snapshot = directory.resolve("snapshot-00000000000000000001.snap");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshot, bytes);
+
+        assertThrows(RuntimeException.class, this::open);
+    }
+
+    // Smallest allowed segments, so a few hundred users already span several of them.
+    private MappedLogUserDAO open() {
+        return open(4096);
+    }
+
+    private MappedLogUserDAO open(int segmentSize) {
+        MappedLogUserDAO userDAO = new MappedLogUserDAO(directory, segmentSize, 0, false);
+        opened.add(userDAO);
+        return userDAO;
+    }
+
+    // Writes the first record of a multi-record batch, as a crash before the rest of it would leave.
+    private void appendBeginOnlyRecord(User user) throws IOException {
+        byte[] name = user.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user.getEmail().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(6 + UserLog.userSize(name, email));
+        body.putInt(1).put((byte) 1).put(UserLog.SAVE);
+        UserLog.putUser(body, user.getId(), name, email, user.getAge(), user.getCreatedAt());
+        body.flip();
+        try (UserLog log = new UserLog(directory, 4096, false)) {
+            log.open(0, record -> { });
+            log.append(body);
+        }
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    // Walks the length prefixes to the last record and flips a body byte, as a torn write would leave it.
+    private static void corruptLastRecord(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+            channel.read(bytes, 0);
+            int offset = 0;
+            int last = 0;
+            while (bytes.getInt(offset) > 0) {
+                last = offset;
+                offset += 8 + bytes.getInt(offset);
+            }
+            ByteBuffer flipped = ByteBuffer.wrap(new byte[]{(byte) ~bytes.get(last + 8)});
+            channel.write(flipped, last + 8);
+        }
+    }
+}
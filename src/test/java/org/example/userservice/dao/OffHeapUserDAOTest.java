@@ -0,0 +1,182 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapUserDAOTest extends UserDAOContractTest {
+
+    private OffHeapUserDAO userDAO;
+
+    @Override
+    protected OffHeapUserDAO createUserDAO() {
+        // Tiny chunks and index so tests cross chunk boundaries, index growth and compaction.
+        return new OffHeapUserDAO(1024, 4, 0.5);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userDAO = createUserDAO();
+    }
+
+    @Test
+    void save_ShouldRoundTripEveryField() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789);
+        User user = new User("Jöhn Dœ", "john@example.com", 30);
+        user.setCreatedAt(createdAt);
+
+        User saved = userDAO.save(user);
+        User found = userDAO.findById(saved.getId()).orElseThrow();
+
+        assertEquals(1L, found.getId());
+        assertEquals("Jöhn Dœ", found.getName());
+        assertEquals("john@example.com", found.getEmail());
+        assertEquals(30, found.getAge());
+        assertEquals(createdAt, found.getCreatedAt());
+    }
+
+    @Test
+    void save_WithNullAge_ShouldReadBackNull() {
+        User saved = userDAO.save(new User("Jane", "jane@example.com", null));
+
+        assertNull(userDAO.findByEmail("jane@example.com").orElseThrow().getAge());
+        assertEquals(saved.getId(), userDAO.findByEmail("jane@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void save_WithDuplicateEmail_ShouldThrowEmailAlreadyExistsException() {
+        userDAO.save(new User("First", "duplicate@example.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> userDAO.save(new User("Second", "duplicate@example.com", 31)));
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.saveAll(List.of(
+                new User("A", "a@example.com", 20),
+                new User("B", "a@example.com", 21))));
+
+        assertEquals(1, userDAO.size());
+        assertFalse(userDAO.existsByEmail("a@example.com"));
+    }
+
+    @Test
+    void saveAll_ShouldSpanChunksAndGrowEmailIndex() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", i % 100));
+        }
+
+        userDAO.saveAll(users);
+
+        assertEquals(500, userDAO.size());
+        for (int i = 0; i < 500; i++) {
+            User found = userDAO.findByEmail("user" + i + "@example.com").orElseThrow();
+            assertEquals(i + 1L, found.getId());
+            assertEquals("User " + i, found.getName());
+        }
+        assertFalse(userDAO.existsByEmail("user500@example.com"));
+        assertEquals(500, userDAO.streamSummaries(summary -> { }));
+    }
+
+    @Test
+    void findPage_ShouldSkipDeletedIds() {
+        for (int i = 0; i < 6; i++) {
+            userDAO.save(new User("User " + i, "user" + i + "@example.com", 20));
+        }
+        userDAO.deleteAll(List.of(2L, 4L));
+
+        Page<User> first = userDAO.findPage(null, 2);
+        Page<UserSummary> second = userDAO.findSummaryPage(first.getNextCursor(), 2);
+
+        assertEquals(List.of(1L, 3L), first.getItems().stream().map(User::getId).toList());
+        assertEquals(List.of(5L, 6L), second.getItems().stream().map(UserSummary::getId).toList());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void findPage_WithCursorAtOrPastLastId_ShouldReturnEmptyPage() {
+        userDAO.save(new User("John", "john@example.com", 30));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertTrue(userDAO.findPage(Long.MAX_VALUE, 10).getItems().isEmpty());
+            assertTrue(userDAO.findSummaryPage(Long.MAX_VALUE, 10).getItems().isEmpty());
+            assertFalse(userDAO.findPage(1L, 10).hasMore());
+            assertTrue(userDAO.findPage(1L, 10).getItems().isEmpty());
+        });
+        assertEquals(1, userDAO.findPage(Long.MIN_VALUE, 10).getItems().size());
+    }
+
+    @Test
+    void update_ShouldRewriteRecordAndEmailIndex() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        saved.setName("Johnathan With A Much Longer Name Than Before");
+        saved.setEmail("johnathan@example.com");
+        userDAO.update(saved);
+
+        User found = userDAO.findById(saved.getId()).orElseThrow();
+        assertEquals("Johnathan With A Much Longer Name Than Before", found.getName());
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertEquals(saved.getId(), userDAO.findByEmail("johnathan@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void update_WithTakenEmailOrUnknownId_ShouldThrow() {
+        userDAO.save(new User("First", "first@example.com", 20));
+        User second = userDAO.save(new User("Second", "second@example.com", 30));
+
+        second.setEmail("first@example.com");
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.update(second));
+        assertThrows(UserNotFoundException.class, () -> userDAO.updateAll(List.of(
+                new UserUpdate(99L, "Ghost", "ghost@example.com", 40))));
+
+        assertEquals("second@example.com", userDAO.findById(second.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void updatesAndDeletes_ShouldCompactAndKeepData() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", 20));
+        }
+        userDAO.saveAll(users);
+
+        for (int round = 0; round < 20; round++) {
+            List<UserUpdate> updates = new ArrayList<>();
+            for (long id = 1; id <= 50; id++) {
+                updates.add(new UserUpdate(id, "Renamed user " + id + " in round " + round,
+                        "user" + id + "-" + round + "@example.com", round));
+            }
+            userDAO.updateAll(updates);
+        }
+        userDAO.deleteAll(List.of(1L, 2L, 3L));
+
+        assertEquals(47, userDAO.size());
+        User found = userDAO.findByEmail("user10-19@example.com").orElseThrow();
+        assertEquals(10L, found.getId());
+        assertEquals("Renamed user 10 in round 19", found.getName());
+        assertEquals(Optional.empty(), userDAO.findByEmail("user10-18@example.com"));
+        // 1000 rewrites of ~90 byte records would need ~90 KiB without compaction.
+        assertTrue(userDAO.getRecordBytes() < 16 * 1024, "record bytes: " + userDAO.getRecordBytes());
+    }
+
+    @Test
+    void delete_ShouldRemoveUserAndEmail() {
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        userDAO.delete(saved.getId());
+
+        assertEquals(Optional.empty(), userDAO.findById(saved.getId()));
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertThrows(UserNotFoundException.class, () -> userDAO.delete(saved.getId()));
+        assertEquals(List.of(saved.getId()), userDAO.deleteAll(List.of(saved.getId())));
+    }
+}
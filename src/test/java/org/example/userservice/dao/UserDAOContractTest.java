@@ -0,0 +1,185 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every UserDAO implementation must share; subclasses supply a fresh, empty DAO per test.
+abstract class UserDAOContractTest {
+
+    private UserDAO contractDAO;
+
+    protected abstract UserDAO createUserDAO();
+
+    @BeforeEach
+    void setUpContract() {
+        contractDAO = createUserDAO();
+    }
+
+    @Test
+    void contract_SaveThenFind_ShouldReturnEqualUser() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        User user = new User("John", "john@example.com", 30);
+        user.setCreatedAt(createdAt);
+
+        User saved = contractDAO.save(user);
+        User found = contractDAO.findById(saved.getId()).orElseThrow();
+
+        assertNotNull(saved.getId());
+        assertEquals("John", found.getName());
+        assertEquals("john@example.com", found.getEmail());
+        assertEquals(30, found.getAge());
+        assertEquals(createdAt, found.getCreatedAt());
+        assertEquals(saved.getId(), contractDAO.findByEmail("john@example.com").orElseThrow().getId());
+        assertTrue(contractDAO.existsByEmail("john@example.com"));
+    }
+
+    @Test
+    void contract_UnknownIdAndEmail_ShouldBeAbsent() {
+        assertEquals(Optional.empty(), contractDAO.findById(42L));
+        assertEquals(Optional.empty(), contractDAO.findByEmail("nobody@example.com"));
+        assertFalse(contractDAO.existsByEmail("nobody@example.com"));
+        assertTrue(contractDAO.findAll().isEmpty());
+    }
+
+    @Test
+    void contract_SaveWithDuplicateEmail_ShouldThrowAndKeepOriginal() {
+        User first = contractDAO.save(new User("First", "duplicate@example.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> contractDAO.save(new User("Second", "duplicate@example.com", 31)));
+
+        assertEquals(first.getId(), contractDAO.findByEmail("duplicate@example.com").orElseThrow().getId());
+        assertEquals(1, contractDAO.findAll().size());
+    }
+
+    @Test
+    void contract_SaveAllWithTakenEmail_ShouldSaveNothing() {
+        contractDAO.save(new User("Existing", "taken@example.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> contractDAO.saveAll(List.of(
+                new User("A", "a@example.com", 20),
+                new User("B", "taken@example.com", 21))));
+
+        assertFalse(contractDAO.existsByEmail("a@example.com"));
+        assertEquals(1, contractDAO.findAll().size());
+    }
+
+    @Test
+    void contract_PagesAndStreams_ShouldVisitUsersInIdOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        List<Long> ids = contractDAO.saveAll(users).stream().map(User::getId).toList();
+        contractDAO.delete(ids.get(1));
+        List<Long> expected = new ArrayList<>(ids);
+        expected.remove(1);
+
+        List<Long> paged = new ArrayList<>();
+        Long cursor = null;
+        do {
+            Page<User> page = contractDAO.findPage(cursor, 3);
+            page.getItems().forEach(user -> paged.add(user.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        List<Long> streamed = new ArrayList<>();
+        long count = contractDAO.streamSummaries(summary -> streamed.add(summary.getId()));
+
+        assertEquals(expected, paged);
+        assertEquals(expected, streamed);
+        assertEquals(6, count);
+        assertEquals(expected, contractDAO.findSummaryPage(null, 10).getItems().stream()
+                .map(UserSummary::getId).toList());
+    }
+
+    @Test
+    void contract_FindPageWithNonPositiveLimit_ShouldThrowIllegalArgumentException() {
+        contractDAO.save(new User("John", "john@example.com", 30));
+
+        assertThrows(IllegalArgumentException.class, () -> contractDAO.findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> contractDAO.findPage(null, -1));
+        assertThrows(IllegalArgumentException.class, () -> contractDAO.findSummaryPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> contractDAO.findSummaryPage(null, -1));
+    }
+
+    @Test
+    void contract_Update_ShouldChangeFieldsAndMoveEmail() {
+        User saved = contractDAO.save(new User("John", "john@example.com", 30));
+
+        saved.setName("Johnny");
+        saved.setEmail("johnny@example.com");
+        saved.setAge(31);
+        contractDAO.update(saved);
+
+        User found = contractDAO.findById(saved.getId()).orElseThrow();
+        assertEquals("Johnny", found.getName());
+        assertEquals(31, found.getAge());
+        assertFalse(contractDAO.existsByEmail("john@example.com"));
+        assertEquals(saved.getId(), contractDAO.findByEmail("johnny@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void contract_UpdateAllWithTakenEmail_ShouldApplyNothing() {
+        User first = contractDAO.save(new User("First", "first@example.com", 20));
+        User second = contractDAO.save(new User("Second", "second@example.com", 30));
+        contractDAO.save(new User("Third", "third@example.com", 40));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> contractDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First renamed", "first-new@example.com", 21),
+                new UserUpdate(second.getId(), "Second renamed", "third@example.com", 31))));
+        assertThrows(EmailAlreadyExistsException.class, () -> contractDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First renamed", "shared@example.com", 21),
+                new UserUpdate(second.getId(), "Second renamed", "shared@example.com", 31))));
+        assertThrows(UserNotFoundException.class, () -> contractDAO.updateAll(List.of(
+                new UserUpdate(99L, "Ghost", "ghost@example.com", 40))));
+
+        assertEquals("First", contractDAO.findById(first.getId()).orElseThrow().getName());
+        assertEquals("second@example.com", contractDAO.findById(second.getId()).orElseThrow().getEmail());
+        assertFalse(contractDAO.existsByEmail("first-new@example.com"));
+        assertFalse(contractDAO.existsByEmail("shared@example.com"));
+    }
+
+    @Test
+    void contract_UpdateAllSwappingEmails_ShouldApplyBoth() {
+        User first = contractDAO.save(new User("First", "first@example.com", 20));
+        User second = contractDAO.save(new User("Second", "second@example.com", 30));
+        User third = contractDAO.save(new User("Third", "third@example.com", 40));
+
+        contractDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First", "second@example.com", 20),
+                new UserUpdate(second.getId(), "Second", "first@example.com", 30),
+                new UserUpdate(third.getId(), "Third", "fourth@example.com", 40)));
+        contractDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First", "third@example.com", 20)));
+
+        assertEquals("third@example.com", contractDAO.findById(first.getId()).orElseThrow().getEmail());
+        assertEquals(second.getId(), contractDAO.findByEmail("first@example.com").orElseThrow().getId());
+        assertEquals(third.getId(), contractDAO.findByEmail("fourth@example.com").orElseThrow().getId());
+        assertEquals(first.getId(), contractDAO.findByEmail("third@example.com").orElseThrow().getId());
+        assertFalse(contractDAO.existsByEmail("second@example.com"));
+    }
+
+    @Test
+    void contract_DeleteAll_ShouldRemoveUsersAndReportMissingIds() {
+        User first = contractDAO.save(new User("First", "first@example.com", 20));
+        User second = contractDAO.save(new User("Second", "second@example.com", 30));
+
+        List<Long> notFound = contractDAO.deleteAll(List.of(first.getId(), 999L));
+
+        assertEquals(List.of(999L), notFound);
+        assertEquals(Optional.empty(), contractDAO.findById(first.getId()));
+        assertFalse(contractDAO.existsByEmail("first@example.com"));
+        assertTrue(contractDAO.findById(second.getId()).isPresent());
+        assertThrows(UserNotFoundException.class, () -> contractDAO.delete(first.getId()));
+    }
+}
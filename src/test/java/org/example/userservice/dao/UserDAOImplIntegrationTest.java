@@ -1,11 +1,15 @@
 package org.example.userservice.dao;
 
 import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.util.CacheStatistics;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 import org.junit.jupiter.api.*;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @Testcontainers
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-class UserDAOImplIntegrationTest {
+class UserDAOImplIntegrationTest extends UserDAOContractTest {
 
     private SessionFactory sessionFactory;
     private UserDAO userDAO;
@@ -29,6 +33,11 @@ class UserDAOImplIntegrationTest {
         }
     }
 
+    @Override
+    protected UserDAO createUserDAO() {
+        return userDAO;
+    }
+
     @AfterAll
     void tearDown() {
         if (sessionFactory != null) {
@@ -60,6 +69,51 @@ class UserDAOImplIntegrationTest {
         assertEquals(30, savedUser.getAge());
     }
 
+    @Test
+    void saveAll_ShouldSaveUsersAcrossMultipleChunks() {
+        UserDAO batchingDAO = new UserDAOImpl(sessionFactory, 3);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            users.add(new User("Batch User " + i, "batch" + i + "@test.com", 20 + i));
+        }
+
+        List<User> savedUsers = batchingDAO.saveAll(users);
+
+        assertEquals(7, savedUsers.size());
+        savedUsers.forEach(user -> assertNotNull(user.getId()));
+        assertEquals(7, userDAO.findAll().size());
+        assertTrue(userDAO.existsByEmail("batch6@test.com"));
+    }
+
+    @Test
+    void saveAll_WhenLaterChunkFails_ShouldSaveNothing() {
+        UserDAO batchingDAO = new UserDAOImpl(sessionFactory, 3);
+        userDAO.save(new User("Existing", "batch4@test.com", 40));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            users.add(new User("Batch User " + i, "batch" + i + "@test.com", 20 + i));
+        }
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+                () -> batchingDAO.saveAll(users));
+
+        assertEquals("Email already exists: batch4@test.com", exception.getMessage());
+        users.forEach(user -> assertNull(user.getId()));
+        assertEquals(1, userDAO.findAll().size());
+    }
+
+    @Test
+    void save_WithDuplicateEmail_ShouldThrowEmailAlreadyExistsException() {
+        userDAO.save(new User("First", "duplicate@test.com", 30));
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class, () -> {
+            userDAO.save(new User("Second", "duplicate@test.com", 31));
+        });
+
+        assertEquals("Email already exists: duplicate@test.com", exception.getMessage());
+        assertEquals(1, userDAO.findAll().size());
+    }
+
     @Test
     void findById_ShouldReturnUserFromDatabase() {
         User user = new User();
@@ -96,6 +150,88 @@ class UserDAOImplIntegrationTest {
         assertEquals(2, users.size());
     }
 
+    @Test
+    void findPage_ShouldWalkAllUsersInIdOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(new User("Page User " + i, "page" + i + "@test.com", 30));
+        }
+        userDAO.saveAll(users);
+
+        List<Long> seenIds = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            Page<User> page = userDAO.findPage(cursor, 2);
+            page.getItems().forEach(user -> seenIds.add(user.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seenIds.size());
+        for (int i = 1; i < seenIds.size(); i++) {
+            assertTrue(seenIds.get(i - 1) < seenIds.get(i));
+        }
+    }
+
+    @Test
+    void findPage_WhenLastPageIsFull_ShouldNotReturnCursor() {
+        userDAO.save(new User("Only User", "only@test.com", 30));
+
+        Page<User> page = userDAO.findPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void streamAll_ShouldVisitEveryUserInIdOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            users.add(new User("Stream User " + i, "stream" + i + "@test.com", 30));
+        }
+        userDAO.saveAll(users);
+
+        List<String> emails = new ArrayList<>();
+        long count = userDAO.streamAll(user -> emails.add(user.getEmail()));
+
+        assertEquals(4, count);
+        assertEquals(List.of("stream0@test.com", "stream1@test.com", "stream2@test.com", "stream3@test.com"), emails);
+    }
+
+    @Test
+    void findSummaryPage_ShouldProjectIdNameAndEmail() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(new User("Summary User " + i, "summary" + i + "@test.com", 30));
+        }
+        userDAO.saveAll(users);
+
+        Page<UserSummary> first = userDAO.findSummaryPage(null, 2);
+        Page<UserSummary> second = userDAO.findSummaryPage(first.getNextCursor(), 2);
+
+        assertEquals(new UserSummary(users.get(0).getId(), "Summary User 0", "summary0@test.com"), first.getItems().get(0));
+        assertEquals(2, first.getItems().size());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void streamSummaries_ShouldVisitEveryUserInIdOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(new User("Stream User " + i, "stream" + i + "@test.com", 30));
+        }
+        userDAO.saveAll(users);
+
+        List<String> emails = new ArrayList<>();
+        long count = userDAO.streamSummaries(user -> emails.add(user.getEmail()));
+
+        assertEquals(3, count);
+        assertEquals(List.of("stream0@test.com", "stream1@test.com", "stream2@test.com"), emails);
+    }
+
     @Test
     void update_ShouldUpdateUserInDatabase() {
         User user = new User();
@@ -117,6 +253,59 @@ class UserDAOImplIntegrationTest {
         assertEquals("Updated Name", foundUser.get().getName());
     }
 
+    @Test
+    void update_WithTakenEmail_ShouldThrowEmailAlreadyExistsException() {
+        userDAO.save(new User("First", "first@test.com", 20));
+        User second = userDAO.save(new User("Second", "second@test.com", 30));
+
+        second.setEmail("first@test.com");
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.update(second));
+
+        assertTrue(userDAO.findByEmail("second@test.com").isPresent());
+    }
+
+    @Test
+    void updateAll_ShouldApplyEveryUpdateInOneTransaction() {
+        User first = userDAO.save(new User("First", "first@test.com", 20));
+        User second = userDAO.save(new User("Second", "second@test.com", 30));
+
+        List<User> updated = userDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First Updated", "first-new@test.com", 21),
+                new UserUpdate(second.getId(), "Second Updated", "second@test.com", 31)));
+
+        assertEquals(2, updated.size());
+        assertEquals("First Updated", userDAO.findById(first.getId()).get().getName());
+        assertEquals(31, userDAO.findById(second.getId()).get().getAge());
+        assertTrue(userDAO.findByEmail("first-new@test.com").isPresent());
+        assertFalse(userDAO.existsByEmail("first@test.com"));
+    }
+
+    @Test
+    void updateAll_WithTakenEmail_ShouldRollBackEveryUpdate() {
+        User first = userDAO.save(new User("First", "first@test.com", 20));
+        User second = userDAO.save(new User("Second", "second@test.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.updateAll(List.of(
+                new UserUpdate(first.getId(), "First Updated", "first@test.com", 21),
+                new UserUpdate(second.getId(), "Second Updated", "first@test.com", 31))));
+        assertThrows(EmailAlreadyExistsException.class, () -> userDAO.updateAll(List.of(
+                new UserUpdate(second.getId(), "Second Updated", "first@test.com", 31))));
+
+        assertEquals("First", userDAO.findById(first.getId()).get().getName());
+        assertEquals("Second", userDAO.findById(second.getId()).get().getName());
+    }
+
+    @Test
+    void updateAll_WithUnknownId_ShouldThrowUserNotFoundException() {
+        User user = userDAO.save(new User("Known", "known@test.com", 20));
+
+        assertThrows(UserNotFoundException.class, () -> userDAO.updateAll(List.of(
+                new UserUpdate(user.getId(), "Known Updated", "known@test.com", 21),
+                new UserUpdate(user.getId() + 1000, "Ghost", "ghost@test.com", 40))));
+
+        assertEquals("Known", userDAO.findById(user.getId()).get().getName());
+    }
+
     @Test
     void delete_ShouldRemoveUserFromDatabase() {
         User user = new User();
@@ -131,6 +320,70 @@ class UserDAOImplIntegrationTest {
         assertFalse(foundUser.isPresent());
     }
 
+    @Test
+    void findById_ShouldBeServedFromSecondLevelCache() {
+        User savedUser = userDAO.save(new User("Cached User", "cached@test.com", 30));
+        long hitsBefore = CacheStatistics.of(sessionFactory).getHitCount();
+
+        userDAO.findById(savedUser.getId());
+        userDAO.findById(savedUser.getId());
+
+        assertTrue(CacheStatistics.of(sessionFactory).getHitCount() >= hitsBefore + 2);
+    }
+
+    @Test
+    void findByEmail_ShouldResolveThroughNaturalIdCache() {
+        userDAO.save(new User("Natural User", "natural@test.com", 30));
+        userDAO.findByEmail("natural@test.com");
+        long hitsBefore = CacheStatistics.of(sessionFactory).getNaturalIdHitCount();
+
+        Optional<User> foundUser = userDAO.findByEmail("natural@test.com");
+
+        assertTrue(foundUser.isPresent());
+        assertEquals("Natural User", foundUser.get().getName());
+        assertTrue(CacheStatistics.of(sessionFactory).getNaturalIdHitCount() > hitsBefore);
+    }
+
+    @Test
+    void update_ShouldInvalidateCachedEmailLookup() {
+        User savedUser = userDAO.save(new User("Moving User", "old-address@test.com", 30));
+        userDAO.findByEmail("old-address@test.com");
+
+        savedUser.setEmail("new-address@test.com");
+        userDAO.update(savedUser);
+
+        assertFalse(userDAO.findByEmail("old-address@test.com").isPresent());
+        assertEquals(savedUser.getId(), userDAO.findByEmail("new-address@test.com").get().getId());
+    }
+
+    @Test
+    void delete_ShouldEvictCachedUser() {
+        User savedUser = userDAO.save(new User("Deleted User", "deleted@test.com", 30));
+        userDAO.findById(savedUser.getId());
+        userDAO.findByEmail("deleted@test.com");
+
+        userDAO.delete(savedUser.getId());
+
+        assertFalse(userDAO.findById(savedUser.getId()).isPresent());
+        assertFalse(userDAO.findByEmail("deleted@test.com").isPresent());
+    }
+
+    @Test
+    void deleteAll_ShouldRemoveUsersAndReportMissingIds() {
+        User first = userDAO.save(new User("First", "first@test.com", 20));
+        User second = userDAO.save(new User("Second", "second@test.com", 30));
+        User kept = userDAO.save(new User("Kept", "kept@test.com", 40));
+        userDAO.findById(first.getId());
+        Long missingId = kept.getId() + 1000;
+
+        List<Long> notFound = userDAO.deleteAll(List.of(first.getId(), missingId, second.getId(), first.getId()));
+
+        assertEquals(List.of(missingId), notFound);
+        assertFalse(userDAO.findById(first.getId()).isPresent());
+        assertFalse(userDAO.findByEmail("second@test.com").isPresent());
+        assertTrue(userDAO.findById(kept.getId()).isPresent());
+    }
+
     @Test
     void existsByEmail_ShouldReturnTrueForExistingEmail() {
         User user = new User();
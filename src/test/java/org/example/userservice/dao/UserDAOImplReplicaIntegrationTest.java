@@ -0,0 +1,155 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.util.ReplicaRouter;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Three separate H2 databases stand in for a primary and two replicas. Nothing replicates between them,
+// so which database answered is visible in the data.
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserDAOImplReplicaIntegrationTest {
+
+    private SessionFactory primary;
+    private List<SessionFactory> replicas;
+
+    @BeforeAll
+    void setUp() {
+        primary = build("jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1", true);
+        replicas = List.of(
+                build("jdbc:h2:mem:replica-test-0;DB_CLOSE_DELAY=-1", false),
+                build("jdbc:h2:mem:replica-test-1;DB_CLOSE_DELAY=-1", false));
+    }
+
+    @AfterAll
+    void tearDown() {
+        replicas.forEach(SessionFactory::close);
+        primary.close();
+    }
+
+    @BeforeEach
+    void clearDatabases() {
+        execute(primary, "DELETE FROM users");
+        primary.getCache().evictAllRegions();
+        replicas.forEach(replica -> execute(replica, "DELETE FROM users"));
+    }
+
+    @Test
+    void findByEmail_RoundRobin_ShouldSpreadReadsAcrossReplicas() {
+        insert(replicas.get(0), 1, "Replica 0", "john@example.com");
+        insert(replicas.get(1), 1, "Replica 1", "john@example.com");
+        UserDAO userDAO = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            names.add(userDAO.findByEmail("john@example.com").orElseThrow().getName());
+        }
+
+        assertEquals(Set.of("Replica 0", "Replica 1"), names);
+        assertTrue(userDAO.existsByEmail("john@example.com"));
+        assertEquals(1, userDAO.findAll().size());
+    }
+
+    @Test
+    void findById_AfterWrite_ShouldReadOwnWriteFromPrimary() {
+        UserDAO sticky = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 60_000);
+        UserDAO loose = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+
+        User saved = sticky.save(new User("John", "john@example.com", 30));
+
+        assertEquals("John", sticky.findById(saved.getId()).orElseThrow().getName());
+        assertTrue(sticky.existsByEmail("john@example.com"));
+        assertEquals(1, sticky.findAll().size());
+        // With the user out of the primary's cache, nothing keeps the loose reader off the replicas.
+        primary.getCache().evictAllRegions();
+        assertEquals(Optional.empty(), loose.findById(saved.getId()));
+    }
+
+    @Test
+    void findByEmail_WhenReplicaReturnsRecentlyUpdatedUser_ShouldRereadPrimary() {
+        UserDAO userDAO = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 60_000);
+        User saved = new UserDAOImpl(primary).save(new User("John", "old@example.com", 30));
+        replicas.forEach(replica -> insert(replica, saved.getId(), "John", "old@example.com"));
+
+        saved.setEmail("new@example.com");
+        userDAO.update(saved);
+
+        assertEquals(Optional.empty(), userDAO.findByEmail("old@example.com"));
+        assertEquals(saved.getId(), userDAO.findByEmail("new@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void findById_WhenPrimaryCacheHoldsUser_ShouldNotAskReplicas() {
+        User saved = new UserDAOImpl(primary).save(new User("John", "john@example.com", 30));
+        replicas.forEach(replica -> insert(replica, saved.getId(), "Replica", "john@example.com"));
+        UserDAO userDAO = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+        userDAO.findById(saved.getId());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("John", userDAO.findById(saved.getId()).orElseThrow().getName());
+            assertEquals("John", userDAO.findByEmail("john@example.com").orElseThrow().getName());
+        }
+    }
+
+    @Test
+    void existsByEmail_AfterDeleteAll_ShouldNotSeeDeletedUserOnLaggingReplica() {
+        User saved = new UserDAOImpl(primary).save(new User("John", "john@example.com", 30));
+        replicas.forEach(replica -> insert(replica, saved.getId(), "John", "john@example.com"));
+        UserDAO userDAO = userDAO(ReplicaRouter.Strategy.ROUND_ROBIN, 60_000);
+
+        userDAO.deleteAll(List.of(saved.getId()));
+
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertEquals(Optional.empty(), userDAO.findByEmail("john@example.com"));
+    }
+
+    @Test
+    void findById_WhenReplicaFails_ShouldFallBackToPrimary() {
+        SessionFactory broken = mock(SessionFactory.class);
+        when(broken.openSession()).thenThrow(new IllegalStateException("Connection refused"));
+        ReplicaRouter router = new ReplicaRouter(List.of(broken), ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+        UserDAO userDAO = new UserDAOImpl(primary, router);
+        User saved = new UserDAOImpl(primary).save(new User("John", "john@example.com", 30));
+
+        assertEquals("John", userDAO.findById(saved.getId()).orElseThrow().getName());
+        // The failed replica is out of rotation, so the second read goes straight to the primary.
+        assertEquals("John", userDAO.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    private UserDAO userDAO(ReplicaRouter.Strategy strategy, long stickyMillis) {
+        return new UserDAOImpl(primary, new ReplicaRouter(replicas, strategy, stickyMillis));
+    }
+
+    private static SessionFactory build(String url, boolean secondLevelCache) {
+        return new Configuration().configure("hibernate-test.cfg.xml")
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCache))
+                .setProperty("hibernate.show_sql", "false")
+                .buildSessionFactory();
+    }
+
+    private static void insert(SessionFactory sessionFactory, long id, String name, String email) {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery(
+                        "INSERT INTO users (id, name, email, age, created_at) VALUES (:id, :name, :email, 30, :createdAt)")
+                .setParameter("id", id)
+                .setParameter("name", name)
+                .setParameter("email", email)
+                .setParameter("createdAt", LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .executeUpdate());
+    }
+
+    private static void execute(SessionFactory sessionFactory, String sql) {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery(sql).executeUpdate());
+    }
+}
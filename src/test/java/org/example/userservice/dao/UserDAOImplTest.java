@@ -2,10 +2,12 @@ package org.example.userservice.dao;
 
 
 import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
 import org.example.userservice.exception.UserNotFoundException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.exception.ConstraintViolationException;
 import org.hibernate.query.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -93,6 +96,37 @@ class UserDAOImplTest {
         verify(session).close();
     }
 
+    @Test
+    void save_WhenEmailConstraintIsViolated_ShouldThrowEmailAlreadyExistsException() {
+        User user = new User("Test User", "test@example.com", 25);
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate", new SQLException("duplicate key", "23505"), "users_email_key");
+        doThrow(violation).when(transaction).commit();
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class, () -> {
+            userDAO.save(user);
+        });
+
+        assertEquals("Email already exists: test@example.com", exception.getMessage());
+        verify(transaction).rollback();
+        verify(session).close();
+    }
+
+    @Test
+    void save_WhenOtherConstraintIsViolated_ShouldThrowRuntimeException() {
+        User user = new User("Test User", "test@example.com", 25);
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "not null", new SQLException("null value", "23502"), "users_name_not_null");
+        doThrow(violation).when(transaction).commit();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            userDAO.save(user);
+        });
+
+        assertFalse(exception instanceof EmailAlreadyExistsException);
+        assertEquals("Error saving user: test@example.com", exception.getMessage());
+    }
+
     @Test
     void save_WhenTransactionIsNullAndExceptionOccurs_ShouldHandleGracefully() {
         User user = new User();
@@ -113,6 +147,85 @@ class UserDAOImplTest {
         verify(session).close();
     }
 
+    @Test
+    void saveAll_ShouldPersistEveryChunkInOneTransaction() {
+        userDAO = new UserDAOImpl(sessionFactory, 2);
+        List<User> users = Arrays.asList(
+                new User("User 1", "one@example.com", 20),
+                new User("User 2", "two@example.com", 21),
+                new User("User 3", "three@example.com", 22));
+
+        List<User> result = userDAO.saveAll(users);
+
+        assertEquals(users, result);
+        verify(sessionFactory).openSession();
+        verify(session).setJdbcBatchSize(2);
+        verify(session, times(3)).persist(any(User.class));
+        verify(session, times(2)).flush();
+        verify(session, times(2)).clear();
+        verify(transaction).commit();
+        verify(session).close();
+    }
+
+    @Test
+    void saveAll_WithEmptyCollection_ShouldNotOpenSession() {
+        List<User> result = userDAO.saveAll(Collections.emptyList());
+
+        assertTrue(result.isEmpty());
+        verify(sessionFactory, never()).openSession();
+    }
+
+    @Test
+    void saveAll_WhenPersistThrowsException_ShouldRollbackAndThrow() {
+        User user = new User("User 1", "one@example.com", 20);
+        when(transaction.isActive()).thenReturn(true);
+        doThrow(new RuntimeException("Database error")).when(session).persist(user);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            userDAO.saveAll(Collections.singletonList(user));
+        });
+
+        assertEquals("Error saving batch of 1 users", exception.getMessage());
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+        verify(session).close();
+    }
+
+    @Test
+    void saveAll_WhenEmailConstraintIsViolated_ShouldThrowEmailAlreadyExistsException() {
+        User first = new User("User 1", "one@example.com", 20);
+        User second = new User("User 2", "two@example.com", 21);
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("Key (email)=(two@example.com) already exists.", "23505"), "users_email_key");
+        doThrow(violation).when(session).flush();
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+                () -> userDAO.saveAll(List.of(first, second)));
+
+        assertEquals("Email already exists: two@example.com", exception.getMessage());
+        assertNull(first.getId());
+        verify(transaction, never()).commit();
+    }
+
+    @Test
+    void saveAll_WhenViolationDoesNotNameTheEmail_ShouldNameEveryRequestedEmail() {
+        User first = new User("User 1", "one@example.com", 20);
+        User second = new User("User 2", "two@example.com", 21);
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("unique constraint violated", "23505"), "users_email_key");
+        doThrow(violation).when(session).flush();
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+                () -> userDAO.saveAll(List.of(first, second)));
+
+        assertEquals("One of these emails already exists: one@example.com, two@example.com", exception.getMessage());
+    }
+
+    @Test
+    void constructor_WithNonPositiveBatchSize_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new UserDAOImpl(sessionFactory, 0));
+    }
+
     @Test
     void findById_WhenUserExists_ShouldReturnUser() {
         Long userId = 1L;
@@ -245,6 +358,26 @@ class UserDAOImplTest {
         verify(session).close();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateAll_WhenEmailIsTakenAtCommit_ShouldThrowEmailAlreadyExistsException() {
+        Query<Object[]> ownerQuery = mock(Query.class);
+        when(session.createQuery("FROM User WHERE id IN :ids", User.class)).thenReturn(userQuery);
+        when(userQuery.list()).thenReturn(List.of(new User(1L, "John", "john@example.com", 30, null)));
+        when(session.createQuery("SELECT email, id FROM User WHERE email IN :emails", Object[].class))
+                .thenReturn(ownerQuery);
+        when(ownerQuery.list()).thenReturn(Collections.emptyList());
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("Key (email)=(taken@example.com) already exists.", "23505"), "users_email_key");
+        doThrow(violation).when(transaction).commit();
+
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+                () -> userDAO.updateAll(List.of(new UserUpdate(1L, "John", "taken@example.com", 30))));
+
+        assertEquals("Email already exists: taken@example.com", exception.getMessage());
+        verify(transaction).rollback();
+    }
+
     @Test
     void update_WhenTransactionIsNullAndExceptionOccurs_ShouldHandleGracefully() {
         User user = new User();
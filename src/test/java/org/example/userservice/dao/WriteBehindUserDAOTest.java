@@ -0,0 +1,246 @@
+package org.example.userservice.dao;
+
+import org.example.userservice.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindUserDAOTest extends UserDAOContractTest {
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final List<WriteBehindUserDAO> opened = new ArrayList<>();
+    private RecordingUserDAO delegate;
+
+    @Override
+    protected UserDAO createUserDAO() {
+        return open(new RecordingUserDAO(), 100, 50, NEVER);
+    }
+
+    @BeforeEach
+    void setUp() {
+        delegate = new RecordingUserDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(WriteBehindUserDAO::close);
+    }
+
+    @Test
+    void update_ShouldBeVisibleBeforeFlushAndCoalesce() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        for (int i = 1; i <= 100; i++) {
+            saved.setAge(30 + i);
+            userDAO.update(saved);
+        }
+
+        assertEquals(130, userDAO.findById(saved.getId()).orElseThrow().getAge());
+        assertEquals(30, delegate.findById(saved.getId()).orElseThrow().getAge());
+        assertEquals(1, userDAO.getPendingCount());
+
+        userDAO.flush();
+
+        assertEquals(130, delegate.findById(saved.getId()).orElseThrow().getAge());
+        assertEquals(List.of(1), delegate.batchSizes);
+        assertEquals(0, userDAO.getPendingCount());
+    }
+
+    @Test
+    void findByEmail_ShouldFollowStagedEmailChange() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+
+        saved.setEmail("johnny@example.com");
+        userDAO.update(saved);
+
+        assertEquals(Optional.empty(), userDAO.findByEmail("john@example.com"));
+        assertFalse(userDAO.existsByEmail("john@example.com"));
+        assertEquals(saved.getId(), userDAO.findByEmail("johnny@example.com").orElseThrow().getId());
+        // Saving flushes first, so the old email is already free in the delegate.
+        assertNotNull(userDAO.save(new User("Other John", "john@example.com", 40)).getId());
+    }
+
+    @Test
+    void update_WhenBatchSizeReached_ShouldFlushInBackground() throws Exception {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 5, NEVER);
+        List<User> users = saveUsers(userDAO, 5);
+
+        for (User user : users) {
+            user.setName(user.getName() + " renamed");
+            userDAO.update(user);
+        }
+
+        awaitFlushed(userDAO);
+        assertEquals("User 4 renamed", delegate.findById(users.get(4).getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void update_WhenQueueIsFull_ShouldWaitForFlush() throws Exception {
+        WriteBehindUserDAO userDAO = open(delegate, 3, 50, NEVER);
+        List<User> users = saveUsers(userDAO, 4);
+        for (int i = 0; i < 3; i++) {
+            userDAO.update(users.get(i));
+        }
+
+        CompletableFuture.runAsync(() -> userDAO.update(users.get(3))).get(5, TimeUnit.SECONDS);
+        userDAO.flush();
+
+        assertEquals(List.of(3, 1), delegate.batchSizes);
+    }
+
+    @Test
+    void flush_WhenDelegateIsDown_ShouldKeepUpdatesQueuedAndThrow() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+        saved.setName("Johnny");
+        userDAO.update(saved);
+
+        delegate.down.set(true);
+        assertThrows(RuntimeException.class, userDAO::flush);
+        assertThrows(RuntimeException.class, () -> userDAO.save(new User("Jane", "jane@example.com", 25)));
+
+        assertEquals(1, userDAO.getPendingCount());
+        assertFalse(delegate.existsByEmail("jane@example.com"));
+        delegate.down.set(false);
+        assertEquals("John", delegate.findById(saved.getId()).orElseThrow().getName());
+
+        userDAO.flush();
+
+        assertEquals(0, userDAO.getPendingCount());
+        assertEquals("Johnny", delegate.findById(saved.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldWriteUsersOneByOne() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        List<User> users = saveUsers(userDAO, 3);
+        users.forEach(user -> user.setAge(99));
+        users.forEach(userDAO::update);
+
+        delegate.failNext.set(true);
+        userDAO.flush();
+
+        assertEquals(0, userDAO.getPendingCount());
+        users.forEach(user -> assertEquals(99, delegate.findById(user.getId()).orElseThrow().getAge()));
+    }
+
+    @Test
+    void flush_WhenOneUpdateKeepsFailing_ShouldParkItAndWriteTheRest() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        List<User> users = saveUsers(userDAO, 3);
+        users.forEach(user -> user.setAge(99));
+        users.forEach(userDAO::update);
+        delegate.poisonId = users.get(1).getId();
+
+        for (int i = 0; i < WriteBehindUserDAO.MAX_WRITE_ATTEMPTS; i++) {
+            assertThrows(RuntimeException.class, userDAO::flush);
+        }
+        userDAO.flush();
+
+        assertEquals(0, userDAO.getPendingCount());
+        assertEquals(List.of(users.get(1).getId()),
+                userDAO.getParkedUpdates().stream().map(User::getId).toList());
+        assertEquals(99, delegate.findById(users.get(0).getId()).orElseThrow().getAge());
+        assertEquals(21, delegate.findById(users.get(1).getId()).orElseThrow().getAge());
+        assertEquals(99, delegate.findById(users.get(2).getId()).orElseThrow().getAge());
+    }
+
+    @Test
+    void flush_WhenUserWasDeletedBehindItsBack_ShouldDropOnlyThatUpdate() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        List<User> users = saveUsers(userDAO, 2);
+        users.forEach(user -> user.setAge(99));
+        users.forEach(userDAO::update);
+
+        delegate.delete(users.get(0).getId());
+        userDAO.flush();
+
+        assertEquals(0, userDAO.getPendingCount());
+        assertEquals(99, delegate.findById(users.get(1).getId()).orElseThrow().getAge());
+    }
+
+    @Test
+    void close_ShouldDrainPendingUpdatesAndWriteThroughAfterwards() {
+        WriteBehindUserDAO userDAO = open(delegate, 100, 50, NEVER);
+        User saved = userDAO.save(new User("John", "john@example.com", 30));
+        saved.setAge(31);
+        userDAO.update(saved);
+
+        userDAO.close();
+        assertEquals(31, delegate.findById(saved.getId()).orElseThrow().getAge());
+
+        saved.setAge(32);
+        userDAO.update(saved);
+        assertEquals(32, delegate.findById(saved.getId()).orElseThrow().getAge());
+    }
+
+    private WriteBehindUserDAO open(UserDAO target, int maxPending, int batchSize, long flushIntervalMillis) {
+        WriteBehindUserDAO userDAO = new WriteBehindUserDAO(target, maxPending, batchSize, flushIntervalMillis);
+        opened.add(userDAO);
+        return userDAO;
+    }
+
+    private static List<User> saveUsers(UserDAO userDAO, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new User("User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        return userDAO.saveAll(users);
+    }
+
+    private static void awaitFlushed(WriteBehindUserDAO userDAO) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (userDAO.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, userDAO.getPendingCount());
+    }
+
+    // Records updateAll batch sizes. It can fail the next batch, every write as if the database were
+    // down, or every write that touches poisonId.
+    private static class RecordingUserDAO extends InMemoryUserDAO {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+        private final AtomicBoolean down = new AtomicBoolean();
+        private volatile Long poisonId;
+
+        @Override
+        public synchronized List<User> updateAll(List<UserUpdate> updates) {
+            boolean poisoned = updates.stream().anyMatch(update -> update.getId().equals(poisonId));
+            if (failNext.getAndSet(false) || down.get() || poisoned) {
+                throw new RuntimeException("Error updating users in batch");
+            }
+            batchSizes.add(updates.size());
+            return super.updateAll(updates);
+        }
+
+        @Override
+        public synchronized User update(User user) {
+            if (down.get() || user.getId().equals(poisonId)) {
+                throw new RuntimeException("Error updating user");
+            }
+            return super.update(user);
+        }
+
+        @Override
+        public User save(User user) {
+            if (down.get()) {
+                throw new RuntimeException("Error saving user");
+            }
+            return super.save(user);
+        }
+    }
+}
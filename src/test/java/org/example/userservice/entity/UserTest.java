@@ -17,6 +17,16 @@ class UserTest {
         assertNull(user.getId());
     }
 
+    @Test
+    void userConstructor_WithFullState_ShouldKeepGivenCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        User user = new User(7L, "John", "john@test.com", 25, createdAt);
+
+        assertEquals(7L, user.getId());
+        assertEquals("John", user.getName());
+        assertEquals(createdAt, user.getCreatedAt());
+    }
+
     @Test
     void userSetters_ShouldUpdateFields() {
 
@@ -0,0 +1,70 @@
+package org.example.userservice.http;
+
+import org.example.userservice.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWriterTest {
+
+    @Test
+    void write_ShouldProduceCommaSeparatedStructure() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out)
+                .beginObject()
+                .name("id").value(1L)
+                .name("age").value((Integer) null)
+                .name("tags").beginArray().value("a").value("b").endArray()
+                .name("active").value(true)
+                .name("createdAt").value(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+                .endObject()
+                .flush();
+
+        assertEquals("{\"id\":1,\"age\":null,\"tags\":[\"a\",\"b\"],\"active\":true,\"createdAt\":\"2024-01-02T03:04:05\"}",
+                out.toString());
+    }
+
+    @Test
+    void newline_ShouldStartNextObjectWithoutSeparator() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new JsonWriter(out)
+                .beginObject().name("id").value(1L).endObject().newline()
+                .beginObject().name("id").value(2L).endObject().newline();
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString());
+    }
+
+    @Test
+    void value_ShouldEscapeSpecialCharacters() throws IOException {
+        StringWriter out = new StringWriter();
+
+        new JsonWriter(out).value("quote\" slash\\ line\n tab\t bell\u0007 sep\u2028");
+
+        assertEquals("\"quote\\\" slash\\\\ line\\n tab\\t bell\\u0007 sep\\u2028\"", out.toString());
+    }
+
+    @Test
+    void readObject_ShouldRoundTripWrittenStrings() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out).beginObject().name("name").value("J\"o\\h\nn \u00e9").name("age").value(30L).endObject();
+
+        Map<String, Object> values = JsonReader.readObject(out.toString());
+
+        assertEquals("J\"o\\h\nn \u00e9", values.get("name"));
+        assertEquals(30L, values.get("age"));
+    }
+
+    @Test
+    void readObject_WithMalformedJson_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> JsonReader.readObject("{\"name\": }"));
+        assertThrows(ValidationException.class, () -> JsonReader.readObject("{\"age\": 1.5}"));
+        assertThrows(ValidationException.class, () -> JsonReader.readObject("{\"name\": \"x\"} trailing"));
+        assertThrows(ValidationException.class, () -> JsonReader.readObject("{\"name\": {\"nested\": 1}}"));
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.userservice.http;
+
+import org.example.userservice.dao.Page;
+import org.example.userservice.dao.UserSummary;
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.EmailAlreadyExistsException;
+import org.example.userservice.exception.UserNotFoundException;
+import org.example.userservice.exception.ValidationException;
+import org.example.userservice.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserHttpServerTest {
+
+    @Mock
+    private UserService userService;
+
+    private UserHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new UserHttpServer(userService, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void post_ShouldCreateUser() throws Exception {
+        when(userService.createUser("John Doe", "john@example.com", 30)).thenReturn(createUser(1L, "john@example.com"));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"John Doe\",\"email\":\"john@example.com\",\"age\":30}")));
+
+        assertEquals(201, response.statusCode());
+        assertEquals("{\"id\":1,\"name\":\"John Doe\",\"email\":\"john@example.com\",\"age\":30,\"createdAt\":\"2024-01-02T03:04:05\"}",
+                response.body());
+    }
+
+    @Test
+    void get_ShouldReturnUserById() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(createUser(1L, "john@example.com"));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users/1")).GET());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"email\":\"john@example.com\""));
+        assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+    }
+
+    @Test
+    void get_WithEmailQuery_ShouldFindByEmail() throws Exception {
+        when(userService.getUserByEmail("john+tag@example.com")).thenReturn(createUser(1L, "john+tag@example.com"));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users?email=john%2Btag%40example.com")).GET());
+
+        assertEquals(200, response.statusCode());
+        verify(userService).getUserByEmail("john+tag@example.com");
+    }
+
+    @Test
+    void get_WithoutQuery_ShouldStreamAllUsers() throws Exception {
+        when(userService.forEachUserSummary(any())).thenAnswer(invocation -> {
+            Consumer<UserSummary> consumer = invocation.getArgument(0);
+            consumer.accept(new UserSummary(1L, "One", "one@example.com"));
+            consumer.accept(new UserSummary(2L, "Two", "two@example.com"));
+            return 2L;
+        });
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users")).GET());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("[{\"id\":1,\"name\":\"One\",\"email\":\"one@example.com\"},"
+                + "{\"id\":2,\"name\":\"Two\",\"email\":\"two@example.com\"}]", response.body());
+        verify(userService, never()).getAllUsers();
+        verify(userService, never()).forEachUser(any());
+    }
+
+    @Test
+    void get_WithLimit_ShouldReturnPageAndCursor() throws Exception {
+        when(userService.getUserSummaries(5L, 1))
+                .thenReturn(new Page<>(List.of(new UserSummary(6L, "Six", "six@example.com")), 6L));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users?after=5&limit=1")).GET());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"users\":[{\"id\":6,\"name\":\"Six\",\"email\":\"six@example.com\"}],\"next\":6}",
+                response.body());
+    }
+
+    @Test
+    void put_ShouldUpdateUser() throws Exception {
+        when(userService.updateUser(1L, "Jane", "jane@example.com", null)).thenReturn(createUser(1L, "jane@example.com"));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users/1"))
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Jane\",\"email\":\"jane@example.com\",\"age\":null}")));
+
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    void delete_ShouldReturnNoContent() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/users/1")).DELETE());
+
+        assertEquals(204, response.statusCode());
+        verify(userService).deleteUser(1L);
+    }
+
+    @Test
+    void errors_ShouldMapToStatusCodes() throws Exception {
+        when(userService.getUserById(404L)).thenThrow(new UserNotFoundException(404L));
+        when(userService.getUserById(500L)).thenThrow(new RuntimeException("boom"));
+        when(userService.createUser(any(), any(), any())).thenThrow(new EmailAlreadyExistsException("john@example.com"));
+        doThrow(new ValidationException("Invalid user ID")).when(userService).deleteUser(-1L);
+
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/users/404")).GET()).statusCode());
+        assertEquals(500, send(HttpRequest.newBuilder(uri("/users/500")).GET()).statusCode());
+        assertEquals(400, send(HttpRequest.newBuilder(uri("/users/abc")).GET()).statusCode());
+        assertEquals(400, send(HttpRequest.newBuilder(uri("/users/-1")).DELETE()).statusCode());
+        assertEquals(405, send(HttpRequest.newBuilder(uri("/users")).DELETE()).statusCode());
+
+        HttpResponse<String> conflict = send(HttpRequest.newBuilder(uri("/users"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"John\",\"email\":\"john@example.com\"}")));
+        assertEquals(409, conflict.statusCode());
+        assertEquals("{\"error\":\"Email already exists: john@example.com\"}", conflict.body());
+    }
+
+    @Test
+    void route_WhenPathOnlySharesThePrefix_ShouldReturnNotFound() throws Exception {
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/usersX5")).GET()).statusCode());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/usersfoo")).GET()).statusCode());
+        assertEquals(404, send(HttpRequest.newBuilder(uri("/users/5/orders")).GET()).statusCode());
+        verifyNoInteractions(userService);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private User createUser(Long id, String email) {
+        User user = new User("John Doe", email, 30);
+        user.setId(id);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.userservice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void time_ShouldReturnResultAndCountCall() {
+        String result = registry.time("op", () -> "value");
+
+        OperationSnapshot snapshot = registry.operation("op").snapshot();
+        assertEquals("value", result);
+        assertEquals(1, snapshot.getCount());
+        assertEquals(0, snapshot.getErrors());
+    }
+
+    @Test
+    void run_ShouldRecordErrorAndRethrow() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> registry.run("op", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        OperationSnapshot snapshot = registry.operation("op").snapshot();
+        assertEquals("boom", thrown.getMessage());
+        assertEquals(1, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+    }
+
+    @Test
+    void snapshot_ShouldReportPercentilesInMicros() {
+        OperationMetrics metrics = registry.operation("op");
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(i * 1_000L, false);
+        }
+
+        OperationSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50.0, snapshot.getP50Micros(), 0.1);
+        assertEquals(99.0, snapshot.getP99Micros(), 0.1);
+        assertEquals(100.0, snapshot.getMaxMicros(), 0.1);
+        assertEquals(50.5, snapshot.getMeanMicros(), 0.1);
+    }
+
+    @Test
+    void snapshot_ShouldAccumulateAcrossIntervals() {
+        OperationMetrics metrics = registry.operation("op");
+        metrics.record(1_000L, false);
+        metrics.snapshot();
+        metrics.record(3_000L, false);
+
+        OperationSnapshot snapshot = metrics.snapshot();
+
+        assertEquals(2, snapshot.getCount());
+        assertEquals(3.0, snapshot.getMaxMicros(), 0.01);
+    }
+
+    @Test
+    void snapshot_ShouldBeSortedByName() {
+        registry.run("b", () -> { });
+        registry.run("a", () -> { });
+
+        List<OperationSnapshot> snapshots = registry.snapshot();
+
+        assertEquals(List.of("a", "b"), snapshots.stream().map(OperationSnapshot::getName).toList());
+    }
+
+    @Test
+    void operation_ShouldReturnSameInstanceForName() {
+        assertSame(registry.operation("op"), registry.operation("op"));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.userservice.service;
+
+import org.example.userservice.entity.User;
+import org.example.userservice.exception.UserNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncUserServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    private AsyncUserService asyncUserService;
+
+    @BeforeEach
+    void setUp() {
+        asyncUserService = new AsyncUserService(userService, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncUserService.close();
+    }
+
+    @Test
+    void createUser_ShouldCompleteWithCreatedUser() throws Exception {
+        User user = new User("John Doe", "john@example.com", 30);
+        when(userService.createUser("John Doe", "john@example.com", 30)).thenReturn(user);
+
+        User result = asyncUserService.createUser("John Doe", "john@example.com", 30).get(5, TimeUnit.SECONDS);
+
+        assertSame(user, result);
+    }
+
+    @Test
+    void getUserById_WhenUserMissing_ShouldCompleteExceptionally() {
+        when(userService.getUserById(1L)).thenThrow(new UserNotFoundException(1L));
+
+        CompletableFuture<User> future = asyncUserService.getUserById(1L);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UserNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void deleteAndUpdate_ShouldDelegateToUserService() throws Exception {
+        User user = new User("Jane", "jane@example.com", 25);
+        when(userService.updateUser(1L, "Jane", "jane@example.com", 25)).thenReturn(user);
+        when(userService.getUserByEmail("jane@example.com")).thenReturn(user);
+
+        asyncUserService.deleteUser(2L).get(5, TimeUnit.SECONDS);
+        assertSame(user, asyncUserService.updateUser(1L, "Jane", "jane@example.com", 25).get(5, TimeUnit.SECONDS));
+        assertSame(user, asyncUserService.getUserByEmail("jane@example.com").get(5, TimeUnit.SECONDS));
+
+        verify(userService).deleteUser(2L);
+    }
+
+    @Test
+    void submit_ShouldNotExceedConcurrencyLimit() throws Exception {
+        asyncUserService.close();
+        asyncUserService = new AsyncUserService(userService, 2, Executors.newFixedThreadPool(8));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.getUserById(anyLong())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return new User();
+        });
+
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            futures.add(asyncUserService.getUserById(id));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void constructor_WithNonPositiveConcurrency_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncUserService(userService, 0));
+    }
+}
@@ -1,10 +1,15 @@
 package org.example.userservice.service;
 
+import org.example.userservice.dao.Page;
 import org.example.userservice.dao.UserDAO;
+import org.example.userservice.dao.UserSummary;
+import org.example.userservice.dao.UserUpdate;
 import org.example.userservice.entity.User;
 import org.example.userservice.exception.EmailAlreadyExistsException;
 import org.example.userservice.exception.UserNotFoundException;
 import org.example.userservice.exception.ValidationException;
+import org.example.userservice.metrics.MetricsRegistry;
+import org.example.userservice.metrics.OperationSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,7 +47,6 @@ class UserServiceUnitTest {
         User savedUser = new User(name, email, age);
         savedUser.setId(1L);
 
-        when(userDAO.existsByEmail(email)).thenReturn(false);
         when(userDAO.save(any(User.class))).thenReturn(savedUser);
 
         User result = userService.createUser(name, email, age);
@@ -51,7 +56,7 @@ class UserServiceUnitTest {
         assertEquals(name, result.getName());
         assertEquals(email, result.getEmail());
         assertEquals(age, result.getAge());
-        verify(userDAO).existsByEmail(email);
+        verify(userDAO, never()).existsByEmail(anyString());
         verify(userDAO).save(any(User.class));
     }
 
@@ -61,15 +66,15 @@ class UserServiceUnitTest {
         String email = "john@example.com";
         Integer age = 30;
 
-        when(userDAO.existsByEmail(email)).thenReturn(true);
+        when(userDAO.save(any(User.class))).thenThrow(new EmailAlreadyExistsException(email));
 
         EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class, () -> {
             userService.createUser(name, email, age);
         });
 
         assertNotNull(exception);
-        verify(userDAO).existsByEmail(email);
-        verify(userDAO, never()).save(any(User.class));
+        verify(userDAO, never()).existsByEmail(anyString());
+        verify(userDAO).save(any(User.class));
     }
 
     @Test
@@ -146,16 +151,36 @@ class UserServiceUnitTest {
         User savedUser = new User(name, email, age);
         savedUser.setId(1L);
 
-        when(userDAO.existsByEmail(email)).thenReturn(false);
         when(userDAO.save(any(User.class))).thenReturn(savedUser);
 
         User result = userService.createUser(name, email, age);
         assertNotNull(result);
         assertNull(result.getAge());
-        verify(userDAO).existsByEmail(email);
         verify(userDAO).save(any(User.class));
     }
 
+    @Test
+    void createUsers_WithValidUsers_ShouldSaveInOneCall() {
+        List<User> users = Arrays.asList(new User("John Doe", "john@example.com", 30),
+                new User("Jane Smith", "jane@example.com", null));
+        when(userDAO.saveAll(users)).thenReturn(users);
+
+        List<User> result = userService.createUsers(users);
+
+        assertSame(users, result);
+        verify(userDAO).saveAll(users);
+        verify(userDAO, never()).save(any(User.class));
+    }
+
+    @Test
+    void createUsers_WithInvalidUser_ShouldNotTouchDao() {
+        List<User> users = Arrays.asList(new User("John Doe", "john@example.com", 30),
+                new User("Jane Smith", "not-an-email", 25));
+
+        assertThrows(ValidationException.class, () -> userService.createUsers(users));
+        verify(userDAO, never()).saveAll(any());
+    }
+
     @Test
     void getUserById_WithValidId_ShouldReturnUser() {
         Long userId = 1L;
@@ -235,6 +260,61 @@ class UserServiceUnitTest {
         verify(userDAO).findAll();
     }
 
+    @Test
+    void getAllUsers_WithCursor_ShouldReturnPageFromDao() {
+        User user = new User("John Doe", "john@example.com", 30);
+        user.setId(11L);
+        Page<User> page = new Page<>(Arrays.asList(user), 11L);
+        when(userDAO.findPage(10L, 1)).thenReturn(page);
+
+        Page<User> result = userService.getAllUsers(10L, 1);
+
+        assertSame(page, result);
+        assertTrue(result.hasMore());
+        verify(userDAO).findPage(10L, 1);
+    }
+
+    @Test
+    void getAllUsers_WithInvalidPageSize_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> userService.getAllUsers(null, 0));
+        assertThrows(ValidationException.class, () -> userService.getAllUsers(null, 1001));
+        assertThrows(ValidationException.class, () -> userService.getAllUsers(-1L, 10));
+        verify(userDAO, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void forEachUser_ShouldDelegateToStreamingDao() {
+        Consumer<User> consumer = user -> { };
+        when(userDAO.streamAll(consumer)).thenReturn(3L);
+
+        long result = userService.forEachUser(consumer);
+
+        assertEquals(3L, result);
+        verify(userDAO).streamAll(consumer);
+        verify(userDAO, never()).findAll();
+    }
+
+    @Test
+    void getUserSummaries_ShouldReturnProjectionPageFromDao() {
+        Page<UserSummary> page = new Page<>(Arrays.asList(new UserSummary(11L, "John Doe", "john@example.com")), 11L);
+        when(userDAO.findSummaryPage(10L, 1)).thenReturn(page);
+
+        Page<UserSummary> result = userService.getUserSummaries(10L, 1);
+
+        assertSame(page, result);
+        verify(userDAO, never()).findPage(any(), anyInt());
+        assertThrows(ValidationException.class, () -> userService.getUserSummaries(null, 0));
+    }
+
+    @Test
+    void forEachUserSummary_ShouldDelegateToProjectionStream() {
+        Consumer<UserSummary> consumer = user -> { };
+        when(userDAO.streamSummaries(consumer)).thenReturn(2L);
+
+        assertEquals(2L, userService.forEachUserSummary(consumer));
+        verify(userDAO, never()).streamAll(any());
+    }
+
     @Test
     void getAllUsers_WhenNoUsers_ShouldReturnEmptyList() {
 
@@ -339,6 +419,63 @@ class UserServiceUnitTest {
         verify(userDAO, never()).update(any(User.class));
     }
 
+    @Test
+    void updateAll_WithValidUpdates_ShouldDelegateInOneCall() {
+        List<UserUpdate> updates = Arrays.asList(
+                new UserUpdate(1L, "John Doe", "john@example.com", 30),
+                new UserUpdate(2L, "Jane Smith", "jane@example.com", null));
+        List<User> updated = Arrays.asList(new User("John Doe", "john@example.com", 30),
+                new User("Jane Smith", "jane@example.com", null));
+        when(userDAO.updateAll(updates)).thenReturn(updated);
+
+        List<User> result = userService.updateAll(updates);
+
+        assertEquals(updated, result);
+        verify(userDAO).updateAll(updates);
+        verify(userDAO, never()).findById(any());
+        verify(userDAO, never()).existsByEmail(anyString());
+        verify(userDAO, never()).update(any(User.class));
+    }
+
+    @Test
+    void updateAll_WithInvalidEntry_ShouldNotTouchDao() {
+        List<UserUpdate> updates = Arrays.asList(
+                new UserUpdate(1L, "John Doe", "john@example.com", 30),
+                new UserUpdate(2L, "Jane Smith", "invalid-email", 25));
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> userService.updateAll(updates));
+
+        assertEquals("Invalid email format", exception.getMessage());
+        verify(userDAO, never()).updateAll(any());
+    }
+
+    @Test
+    void updateAll_WithInvalidId_ShouldThrowValidationException() {
+        List<UserUpdate> updates = Arrays.asList(new UserUpdate(0L, "John Doe", "john@example.com", 30));
+
+        assertThrows(ValidationException.class, () -> userService.updateAll(updates));
+        verify(userDAO, never()).updateAll(any());
+    }
+
+    @Test
+    void deleteUsers_ShouldReturnIdsNotFound() {
+        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        when(userDAO.deleteAll(ids)).thenReturn(Arrays.asList(3L));
+
+        List<Long> notFound = userService.deleteUsers(ids);
+
+        assertEquals(Arrays.asList(3L), notFound);
+        verify(userDAO).deleteAll(ids);
+        verify(userDAO, never()).findById(any());
+    }
+
+    @Test
+    void deleteUsers_WithInvalidId_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> userService.deleteUsers(Arrays.asList(1L, null)));
+        assertThrows(ValidationException.class, () -> userService.deleteUsers(Arrays.asList(-5L)));
+        verify(userDAO, never()).deleteAll(any());
+    }
+
     @Test
     void deleteUser_WithValidId_ShouldDeleteUser() {
         Long userId = 1L;
@@ -435,14 +572,12 @@ class UserServiceUnitTest {
         User savedUser = new User(name, "test@example.com", age);
         savedUser.setId(1L);
 
-        when(userDAO.existsByEmail(anyString())).thenReturn(false);
         when(userDAO.save(any(User.class))).thenReturn(savedUser);
         assertDoesNotThrow(() -> userService.createUser(name, "test@example.com", age));
         assertDoesNotThrow(() -> userService.createUser(name, "test.name@example.com", age));
         assertDoesNotThrow(() -> userService.createUser(name, "test_name@example.co.uk", age));
         assertDoesNotThrow(() -> userService.createUser(name, "test+tag@example.com", age));
 
-        verify(userDAO, times(4)).existsByEmail(anyString());
         verify(userDAO, times(4)).save(any(User.class));
     }
 
@@ -511,4 +646,50 @@ class UserServiceUnitTest {
         verify(userDAO, never()).existsByEmail(anyString());
         verify(userDAO, never()).update(any(User.class));
     }
+
+    @Test
+    void getUserById_ShouldRecordLatencyAndFailures() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        UserService service = new UserService(userDAO, userService.getValidator(), metrics);
+        when(userDAO.findById(1L)).thenReturn(Optional.of(new User("John", "john@example.com", 30)));
+
+        service.getUserById(1L);
+        assertThrows(ValidationException.class, () -> service.getUserById(-1L));
+
+        OperationSnapshot snapshot = metrics.operation("service.getUserById").snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+    }
+
+    @Test
+    void getAllUsers_PagedAndUnpaged_ShouldRecordSeparateMetrics() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        UserService service = new UserService(userDAO, userService.getValidator(), metrics);
+        when(userDAO.findAll()).thenReturn(List.of());
+        when(userDAO.findPage(null, 10)).thenReturn(new Page<>(List.of(), null));
+
+        service.getAllUsers();
+        service.getAllUsers(null, 10);
+        service.getAllUsers(null, 10);
+
+        assertEquals(1, metrics.operation("service.getAllUsers").snapshot().getCount());
+        assertEquals(2, metrics.operation("service.getUsersPage").snapshot().getCount());
+    }
+
+    @Test
+    void updateAndDelete_ShouldNotRecordGetUserById() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        UserService service = new UserService(userDAO, userService.getValidator(), metrics);
+        User user = new User("John", "john@example.com", 30);
+        user.setId(1L);
+        when(userDAO.findById(1L)).thenReturn(Optional.of(user));
+        when(userDAO.update(user)).thenReturn(user);
+
+        service.updateUser(1L, "Johnny", "john@example.com", 31);
+        service.deleteUser(1L);
+
+        assertEquals(0, metrics.operation("service.getUserById").snapshot().getCount());
+        assertEquals(1, metrics.operation("service.updateUser").snapshot().getCount());
+        assertEquals(1, metrics.operation("service.deleteUser").snapshot().getCount());
+    }
 }
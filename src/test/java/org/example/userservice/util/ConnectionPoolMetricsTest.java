@@ -0,0 +1,54 @@
+package org.example.userservice.util;
+
+import org.example.userservice.dao.UserDAO;
+import org.example.userservice.dao.UserDAOImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConnectionPoolMetricsTest {
+
+    private SessionFactory sessionFactory;
+    private ConnectionPoolMetrics metrics;
+
+    @BeforeAll
+    void setUp() {
+        sessionFactory = new Configuration().configure("hibernate-test.cfg.xml").buildSessionFactory();
+        metrics = ConnectionPoolMetrics.install(sessionFactory);
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    @Test
+    void install_ShouldRecordConnectionAcquisitions() {
+        UserDAO userDAO = new UserDAOImpl(sessionFactory);
+        long before = metrics.getAcquireCount();
+
+        userDAO.existsByEmail("pool@test.com");
+        userDAO.existsByEmail("pool@test.com");
+
+        assertTrue(metrics.getAcquireCount() >= before + 2);
+        assertTrue(metrics.getMaxAcquireMillis() >= metrics.getAverageAcquireMillis());
+        assertEquals(0, metrics.getTimeoutCount());
+    }
+
+    @Test
+    void install_ShouldExposePoolState() {
+        assertEquals(4, metrics.getMaxConnections());
+        assertTrue(metrics.getTotalConnections() <= 4);
+        assertEquals(0, metrics.getActiveConnections());
+        assertEquals(0, metrics.getPendingThreads());
+        assertNotNull(metrics.toString());
+    }
+}
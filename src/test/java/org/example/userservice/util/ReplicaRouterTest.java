@@ -0,0 +1,88 @@
+package org.example.userservice.util;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRouterTest {
+
+    private final SessionFactory first = mock(SessionFactory.class);
+    private final SessionFactory second = mock(SessionFactory.class);
+
+    @Test
+    void select_RoundRobin_ShouldAlternateReplicas() {
+        ReplicaRouter router = new ReplicaRouter(List.of(first, second), ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+
+        List<SessionFactory> picked = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            picked.add(router.select(1L).getSessionFactory());
+        }
+
+        assertEquals(List.of(first, second, first, second), picked);
+    }
+
+    @Test
+    void select_LeastLatency_ShouldPreferFastestButStillProbeOthers() {
+        ReplicaRouter router = new ReplicaRouter(List.of(first, second), ReplicaRouter.Strategy.LEAST_LATENCY, 0);
+        router.select(1L).recordLatency(5_000_000);
+        router.select(1L).recordLatency(100_000);
+
+        int secondPicks = 0;
+        for (int i = 0; i < ReplicaRouter.PROBE_INTERVAL * 4; i++) {
+            if (router.select(1L).getSessionFactory() == second) {
+                secondPicks++;
+            }
+        }
+
+        assertTrue(secondPicks > ReplicaRouter.PROBE_INTERVAL * 3, "second picked " + secondPicks + " times");
+        assertTrue(secondPicks < ReplicaRouter.PROBE_INTERVAL * 4, "first was never probed");
+    }
+
+    @Test
+    void select_AfterFailure_ShouldSkipReplicaAndFallBackToPrimaryWhenNoneLeft() {
+        ReplicaRouter router = new ReplicaRouter(List.of(first, second), ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+
+        router.select(1L).recordFailure();
+
+        assertSame(second, router.select(1L).getSessionFactory());
+        assertSame(second, router.select(1L).getSessionFactory());
+        router.select(1L).recordFailure();
+        assertNull(router.select(1L));
+    }
+
+    @Test
+    void select_AfterWrite_ShouldStickToPrimaryForWrittenKeys() {
+        ReplicaRouter router = new ReplicaRouter(List.of(first), ReplicaRouter.Strategy.ROUND_ROBIN, 60_000);
+        assertNotNull(router.select(null));
+
+        router.wrote(7L, "john@example.com");
+
+        assertNull(router.select(7L));
+        assertNull(router.select("john@example.com"));
+        assertNull(router.select(null));
+        assertNotNull(router.select(8L));
+        assertNotNull(router.select("jane@example.com"));
+    }
+
+    @Test
+    void select_WithoutStickiness_ShouldIgnoreWrites() {
+        ReplicaRouter router = new ReplicaRouter(List.of(first), ReplicaRouter.Strategy.ROUND_ROBIN, 0);
+
+        router.wrote(7L, "john@example.com");
+
+        assertNotNull(router.select(7L));
+        assertNotNull(router.select(null));
+    }
+
+    @Test
+    void strategy_ShouldParsePropertyValues() {
+        assertEquals(ReplicaRouter.Strategy.ROUND_ROBIN, ReplicaRouter.Strategy.parse("round-robin"));
+        assertEquals(ReplicaRouter.Strategy.LEAST_LATENCY, ReplicaRouter.Strategy.parse(" Least_Latency "));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaRouter.Strategy.parse("random"));
+    }
+}
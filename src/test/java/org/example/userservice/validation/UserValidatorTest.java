@@ -0,0 +1,81 @@
+package org.example.userservice.validation;
+
+import org.example.userservice.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserValidatorTest {
+
+    private static final Pattern LEGACY_EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+
+    private final UserValidator validator = UserValidator.defaults();
+
+    @Test
+    void isValidEmail_ShouldMatchLegacyRegex() {
+        List<String> emails = List.of(
+                "test@example.com", "test.name@example.com", "test_name@example.co.uk", "test+tag@example.com",
+                "a@b", "a@@b", "@example.com", "test@", "test", "te st@example.com", "test@exa mple.com",
+                "test@example\n.com", "test\n@example.com", "tést@example.com", "test@exämple.com",
+                "test@example.com\u2028", "-@-", "x@\u0085", "x@\t", "user@", "user@@");
+
+        for (String email : emails) {
+            assertEquals(LEGACY_EMAIL_PATTERN.matcher(email).matches(), ValidationRules.isValidEmail(email), email);
+        }
+    }
+
+    @Test
+    void validate_WithValidData_ShouldNotThrow() {
+        assertDoesNotThrow(() -> validator.validate("John Doe", "john@example.com", 30));
+        assertDoesNotThrow(() -> validator.validate("John Doe", "john@example.com", null));
+    }
+
+    @Test
+    void validate_ShouldReportRulesInOrder() {
+        assertEquals("Name cannot be empty", validator.firstViolation("  ", "", 200));
+        assertEquals("Email cannot be empty", validator.firstViolation("John", " ", 200));
+        assertEquals("Invalid email format", validator.firstViolation("John", "invalid", 200));
+        assertEquals("Age must be between 0 and 150", validator.firstViolation("John", "john@example.com", 200));
+        assertEquals("Age must be between 0 and 150", validator.firstViolation("John", "john@example.com", -1));
+    }
+
+    @Test
+    void validate_WithTooLongValues_ShouldReportLength() {
+        String longName = "n".repeat(101);
+        String longEmail = "e".repeat(250) + "@example.com";
+
+        assertEquals("Name must be at most 100 characters", validator.firstViolation(longName, "john@example.com", 30));
+        assertEquals("Email must be at most 255 characters", validator.firstViolation("John", longEmail, 30));
+    }
+
+    @Test
+    void validate_WithInvalidData_ShouldThrowValidationException() {
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            validator.validate("John", "invalid", 30);
+        });
+
+        assertEquals("Invalid email format", exception.getMessage());
+    }
+
+    @Test
+    void customRules_ShouldBePluggable() {
+        UserValidator adultsOnly = new UserValidator(List.of(
+                ValidationRules.nameRequired(),
+                ValidationRules.ageRange(18, 120)));
+
+        assertTrue(adultsOnly.isValid("John", "not-checked", 30));
+        assertEquals("Age must be between 18 and 120", adultsOnly.firstViolation("John", null, 10));
+    }
+
+    @Test
+    void isBlank_ShouldFollowTrimSemantics() {
+        assertTrue(ValidationRules.isBlank(null));
+        assertTrue(ValidationRules.isBlank(""));
+        assertTrue(ValidationRules.isBlank(" \t\n"));
+        assertFalse(ValidationRules.isBlank(" a "));
+        assertEquals("\u2003".trim().isEmpty(), ValidationRules.isBlank("\u2003"));
+    }
+}